@@ -0,0 +1,190 @@
+package src.benchmark;
+
+import java.util.Random;
+
+/**
+ * The {@code Maps} class generates the boards the pathfinders are measured on.
+ *
+ * <p>Every board is generated from a seed, so the same parameters always
+ * give the same board and the measurements can be compared between runs.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.benchmark.PathfinderBenchmark PathfinderBenchmark
+ */
+public class Maps {
+
+    /**
+     * The kinds of boards that can be generated.
+     */
+    public enum Family {
+        /**
+         * Wide BLANK fields crossed by a few long straight walls.
+         */
+        OPEN,
+
+        /**
+         * A maze of corridors one tile wide, with a single path between any two tiles.
+         */
+        MAZE,
+
+        /**
+         * Square rooms joined by doors, with scattered obstacles inside.
+         */
+        ROOMS,
+
+        /**
+         * Obstacles scattered uniformly over the board.
+         */
+        RANDOM
+    }
+
+    /**
+     * The side of the rooms of the {@link Family#ROOMS ROOMS} family, walls included.
+     */
+    private static final int ROOM_SIZE = 12;
+
+
+    /**
+     * Generates a square board.
+     *
+     * <p>The density is the fraction of the board covered by walls for the
+     * {@link Family#OPEN OPEN} family, by scattered obstacles for the
+     * {@link Family#RANDOM RANDOM} family, and by the obstacles inside the rooms
+     * for the {@link Family#ROOMS ROOMS} family. It is ignored by the
+     * {@link Family#MAZE MAZE} family.
+     * @param family - The kind of board
+     * @param size - The width and height of the board
+     * @param density - The obstacle density, between 0 and 1
+     * @param seed - The seed of the generator
+     * @param BLANK - The BLANK tile
+     * @param OBSTACLE - The OBSTACLE tile
+     * @return The generated board
+     */
+    public static char[][] generate(Family family, int size, double density, long seed, char BLANK, char OBSTACLE) {
+        Random rand = new Random(seed);
+        char[][] board = new char[size][size];
+        switch (family) {
+            case OPEN:
+                fill(board, BLANK);
+                generateOpen(board, density, rand, OBSTACLE);
+                break;
+            case MAZE:
+                fill(board, OBSTACLE);
+                generateMaze(board, rand, BLANK);
+                break;
+            case ROOMS:
+                fill(board, BLANK);
+                generateRooms(board, density, rand, BLANK, OBSTACLE);
+                break;
+            default:
+                for (char[] row : board) {
+                    for (int x = 0; x < size; x++) {
+                        row[x] = rand.nextDouble() < density ? OBSTACLE : BLANK;
+                    }
+                }
+                break;
+        }
+        return board;
+    }
+
+    /**
+     * Replaces every tile of the board with the specified tile.
+     */
+    private static void fill(char[][] board, char tile) {
+        for (char[] row : board) {
+            for (int x = 0; x < row.length; x++) {
+                row[x] = tile;
+            }
+        }
+    }
+
+    /**
+     * Draws straight walls until they cover the specified fraction of the board.
+     */
+    private static void generateOpen(char[][] board, double density, Random rand, char OBSTACLE) {
+        int size = board.length;
+        int target = (int) (density*size*size);
+        int blocked = 0;
+        while (blocked < target) {
+            int x = rand.nextInt(size);
+            int y = rand.nextInt(size);
+            int length = 1 + rand.nextInt(Math.max(1, size/4));
+            boolean horizontal = rand.nextBoolean();
+            for (int i = 0; i < length && x < size && y < size; i++) {
+                if (board[y][x] != OBSTACLE) {
+                    board[y][x] = OBSTACLE;
+                    blocked++;
+                }
+                if (horizontal) {
+                    x++;
+                } else {
+                    y++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Carves a maze with an iterative depth-first search over the even tiles.
+     */
+    private static void generateMaze(char[][] board, Random rand, char BLANK) {
+        int size = board.length;
+        int cells = (size+1) / 2;
+        boolean[] visited = new boolean[cells*cells];
+        int[] stack = new int[cells*cells];
+        int[] options = new int[4];
+        int[][] directions = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        board[0][0] = BLANK;
+        while (top > 0) {
+            int cell = stack[top-1];
+            int x = cell % cells;
+            int y = cell / cells;
+            int count = 0;
+            for (int i = 0; i < directions.length; i++) {
+                int nx = x + directions[i][0];
+                int ny = y + directions[i][1];
+                if (nx >= 0 && nx < cells && ny >= 0 && ny < cells && !visited[ny*cells + nx]) {
+                    options[count++] = i;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int[] direction = directions[options[rand.nextInt(count)]];
+            int nx = x + direction[0];
+            int ny = y + direction[1];
+            visited[ny*cells + nx] = true;
+            board[y*2 + direction[1]][x*2 + direction[0]] = BLANK;
+            board[ny*2][nx*2] = BLANK;
+            stack[top++] = ny*cells + nx;
+        }
+    }
+
+    /**
+     * Draws the walls of the rooms with a door on each of them, then scatters obstacles inside.
+     */
+    private static void generateRooms(char[][] board, double density, Random rand, char BLANK, char OBSTACLE) {
+        int size = board.length;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean wall = x % ROOM_SIZE == ROOM_SIZE-1 || y % ROOM_SIZE == ROOM_SIZE-1;
+                if (wall || rand.nextDouble() < density) {
+                    board[y][x] = OBSTACLE;
+                }
+            }
+        }
+        for (int y = 0; y < size; y += ROOM_SIZE) {
+            for (int x = ROOM_SIZE-1; x < size; x += ROOM_SIZE) {
+                int door = Math.min(size-1, y + rand.nextInt(ROOM_SIZE-1));
+                board[door][x] = BLANK;
+                board[x][door] = BLANK;
+            }
+        }
+    }
+}
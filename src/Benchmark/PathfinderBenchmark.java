@@ -0,0 +1,297 @@
+package src.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+import src.logic.*;
+import src.pathfinder.*;
+
+/**
+ * The {@code PathfinderBenchmark} class measures the pathfinders over
+ * the board families of {@link src.benchmark.Maps Maps}.
+ *
+ * <p>Every combination of board family, size and obstacle density is
+ * generated once, and a fixed set of random queries is searched over
+ * it by every pathfinder. Each measurement first runs the queries for
+ * a warmup period, so the JIT compiler settles, and then for the
+ * measurement period, reporting:
+ * <ul>
+ *   <li>the number of queries searched per second,</li>
+ *   <li>the bytes allocated per second and per query, when the JVM can
+ *   measure the allocations of a thread,</li>
+ *   <li>the cells expanded per query, for the pathfinders that count them.</li>
+ * </ul>
+ *
+ * <p>The incremental pathfinders, {@link src.pathfinder.DStarLite DStarLite}
+ * and {@link src.pathfinder.PathCache PathCache}, are measured on chases
+ * instead, next to A* searching from scratch: a chaser walking one step
+ * along its path after every query while its target wanders one tile at a
+ * time. The chases are generated once per board, so every pathfinder
+ * replays the same sequence of queries, and the incremental pathfinders
+ * start over at the beginning of every replay.
+ *
+ * <p>The parameters are given as {@code name=value} arguments, for example
+ * {@code sizes=50,200 densities=0.1,0.3 warmup=500 time=1000}, the times
+ * being in milliseconds.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.benchmark.Maps Maps
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.DStarLite DStarLite
+ * @see src.pathfinder.PathCache PathCache
+ */
+public class PathfinderBenchmark {
+
+    private static final char BLANK = ' ';
+    private static final char OBSTACLE = '#';
+
+    /**
+     * The number of queries searched over every board.
+     */
+    private static final int QUERIES = 64;
+
+    /**
+     * The number of chases replayed over every board.
+     */
+    private static final int CHASES = 4;
+
+    /**
+     * The number of queries of every chase.
+     */
+    private static final int CHASE_STEPS = 64;
+
+    /**
+     * The maximum number of bytes of the measured path caches.
+     */
+    private static final long CACHE_BYTES = 1 << 20;
+
+    /**
+     * The most extra steps the measured path caches accept to follow a target.
+     */
+    private static final int CACHE_SLACK = 4;
+
+    /**
+     * The {x, y} vectors of the moves a target can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * The seed of the boards and the queries.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Sums the lengths of the paths found, so the searches can't be optimized away.
+     */
+    private static long sink;
+
+
+    /**
+     * Runs the benchmark with the specified parameters.
+     * @param args - The {@code name=value} parameters
+     */
+    public static void main(String[] args) {
+        int[] sizes = {50, 200};
+        double[] densities = {0.1, 0.3};
+        long warmup = 500;
+        long time = 1000;
+        for (String arg : args) {
+            String[] parameter = arg.split("=", 2);
+            if (parameter.length != 2) {
+                throw new IllegalArgumentException("Illegal parameter: " + arg);
+            }
+            switch (parameter[0]) {
+                case "sizes":
+                    String[] values = parameter[1].split(",");
+                    sizes = new int[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        sizes[i] = Integer.parseInt(values[i].trim());
+                    }
+                    break;
+                case "densities":
+                    values = parameter[1].split(",");
+                    densities = new double[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        densities[i] = Double.parseDouble(values[i].trim());
+                    }
+                    break;
+                case "warmup":
+                    warmup = Long.parseLong(parameter[1]);
+                    break;
+                case "time":
+                    time = Long.parseLong(parameter[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter: " + parameter[0]);
+            }
+        }
+
+        System.out.println(String.format("%-8s %6s %8s %-14s %12s %12s %12s %12s",
+            "family", "size", "density", "pathfinder", "ops/s", "MB/s", "bytes/op", "nodes/op"));
+        for (Maps.Family family : Maps.Family.values()) {
+            for (int size : sizes) {
+                for (int d = 0; d < densities.length; d++) {
+                    if (family == Maps.Family.MAZE && d > 0) {
+                        break;
+                    }
+                    double density = densities[d];
+                    char[][] board = Maps.generate(family, size, density, SEED, BLANK, OBSTACLE);
+                    Point[][] queries = generateQueries(board);
+                    String label = family == Maps.Family.MAZE ? "-" : String.valueOf(density);
+
+                    for (A.Mode mode : A.Mode.values()) {
+                        A pathfinder = new A(board, BLANK, OBSTACLE);
+                        pathfinder.setMode(mode);
+                        report(family, size, label, mode.name(), measure(pathfinder, queries, warmup, time));
+                    }
+                    HPA hpa = new HPA(board, 16, BLANK);
+                    report(family, size, label, "HPA", measure(hpa, queries, warmup, time));
+
+                    Point[][] chases = generateChases(board);
+                    report(family, size, label, "chase-A",
+                        measure(new A(board, BLANK, OBSTACLE), chases, warmup, time));
+                    report(family, size, label, "chase-D*Lite",
+                        measure(new DStarLite(board, BLANK), chases, warmup, time));
+                    PathCache cache = new PathCache(new A(board, BLANK, OBSTACLE), CACHE_BYTES, board, BLANK, CACHE_SLACK);
+                    report(family, size, label, "chase-Cache", measure(cache, chases, warmup, time));
+                }
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+
+    /**
+     * Picks random pairs of BLANK tiles of the board.
+     * @param board - The board to pick from
+     * @return The start and end points of every query
+     */
+    private static Point[][] generateQueries(char[][] board) {
+        Random rand = new Random(SEED);
+        Point[][] queries = new Point[QUERIES][2];
+        for (int i = 0; i < QUERIES; i++) {
+            for (int j = 0; j < 2; j++) {
+                int x;
+                int y;
+                do {
+                    x = rand.nextInt(board[0].length);
+                    y = rand.nextInt(board.length);
+                } while (board[y][x] != BLANK);
+                queries[i][j] = new Point(new int[]{x, y}, null);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Generates the chases, every query starting where the chaser ended up
+     * after taking the first step of the previous path, towards the target
+     * after its last move.
+     * @param board - The board to chase on
+     * @return The start and end points of every query, chase after chase
+     */
+    private static Point[][] generateChases(char[][] board) {
+        Random rand = new Random(SEED);
+        A reference = new A(board, BLANK, OBSTACLE);
+        Point[][] endpoints = generateQueries(board);
+        Point[][] queries = new Point[CHASES*CHASE_STEPS][];
+        for (int chase = 0; chase < CHASES; chase++) {
+            int[] start = endpoints[chase][0].coordinate;
+            int[] end = endpoints[chase][1].coordinate;
+            for (int step = 0; step < CHASE_STEPS; step++) {
+                Point[] query = {new Point(start, null), new Point(end, null)};
+                queries[chase*CHASE_STEPS + step] = query;
+                DynamicArray<Point> path = reference.path(query[0], query[1]);
+                if (path != null && path.size() > 1) {
+                    start = path.get(0).coordinate;
+                }
+                int direction = rand.nextInt(DIRECTIONS_X.length);
+                int x = end[0] + DIRECTIONS_X[direction];
+                int y = end[1] + DIRECTIONS_Y[direction];
+                if (x >= 0 && x < board[0].length && y >= 0 && y < board.length
+                    && board[y][x] == BLANK && (x != start[0] || y != start[1])) {
+                    end = new int[]{x, y};
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Searches the queries for the warmup period and then for the measurement period.
+     * @param pathfinder - The pathfinder to measure
+     * @param queries - The queries to search
+     * @param warmup - The warmup period, in milliseconds
+     * @param time - The measurement period, in milliseconds
+     * @return The elapsed nanoseconds, queries, allocated bytes, or {@code -1}
+     * if they can't be measured, and expanded cells, or {@code -1} if they
+     * aren't counted
+     */
+    private static long[] measure(Pathfinder pathfinder, Point[][] queries, long warmup, long time) {
+        run(pathfinder, queries, warmup*1000000L);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = null;
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            allocations = (com.sun.management.ThreadMXBean) threads;
+        }
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = allocations != null ? allocations.getThreadAllocatedBytes(thread) : 0;
+        long start = System.nanoTime();
+        long[] result = run(pathfinder, queries, time*1000000L);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocations != null ? allocations.getThreadAllocatedBytes(thread) - allocatedBefore : -1;
+        return new long[]{elapsed, result[0], allocated, result[1]};
+    }
+
+    /**
+     * Searches the queries round-robin for the specified period.
+     *
+     * <p>A path cache is emptied before every round, and told the chaser
+     * took the first step of every path.
+     * @return The number of queries searched and cells expanded,
+     * or {@code -1} if they aren't counted
+     */
+    private static long[] run(Pathfinder pathfinder, Point[][] queries, long nanos) {
+        long operations = 0;
+        long expanded = pathfinder instanceof A ? 0 : -1;
+        PathCache cache = pathfinder instanceof PathCache ? (PathCache) pathfinder : null;
+        long deadline = System.nanoTime() + nanos;
+        do {
+            if (cache != null) {
+                cache.clear();
+            }
+            for (Point[] query : queries) {
+                DynamicArray<Point> path = pathfinder.path(query[0], query[1]);
+                sink += path == null ? -1 : path.size();
+                if (expanded >= 0) {
+                    expanded += ((A) pathfinder).getExpanded();
+                }
+                if (cache != null && path != null && path.size() > 1) {
+                    cache.advance(query[0], query[1], 1);
+                }
+            }
+            operations += queries.length;
+        } while (System.nanoTime() < deadline);
+        return new long[]{operations, expanded};
+    }
+
+    /**
+     * Prints a row of the results.
+     */
+    private static void report(Maps.Family family, int size, String density, String name, long[] result) {
+        double seconds = result[0] / 1e9;
+        long operations = result[1];
+        String megabytes = result[2] < 0 ? "-" : String.format("%.1f", result[2] / seconds / (1 << 20));
+        String bytes = result[2] < 0 ? "-" : String.valueOf(result[2] / operations);
+        String nodes = result[3] < 0 ? "-" : String.valueOf(result[3] / operations);
+        System.out.println(String.format("%-8s %6d %8s %-14s %12.1f %12s %12s %12s",
+            family, size, density, name, operations / seconds, megabytes, bytes, nodes));
+    }
+}
@@ -25,7 +25,7 @@ import src.pathfinder.*;
   * methods to manage what happens on the board and how it is displayed.
   * 
   * <p>It is dependant on the {@link src.logic.Operator Operator} class to perform
-  * basic operations within the grid. And on the {@link src.logic.DynamicArray DynamicArray}
+  * basic operations within the grid. And on the {@link src.logic.HashedDynamicArray HashedDynamicArray}
   * class to create the enemies array.
   * 
   * @since JDK 1.11
@@ -33,6 +33,7 @@ import src.pathfinder.*;
   * 
   * @see src.game.Player Player
   * @see src.logic.DynamicArray DynamicArray
+  * @see src.logic.HashedDynamicArray HashedDynamicArray
   * @see src.logic.Operator Operator
   */
 public class Board {
@@ -71,7 +72,7 @@ public class Board {
      * The enemies on the board.
      * @see src.game.Player Player
      */
-    private DynamicArray<Player> enemies = new DynamicArray<>(0);
+    private HashedDynamicArray<Player> enemies = new HashedDynamicArray<>();
 
     /**
      * The current turn.
@@ -93,6 +94,18 @@ public class Board {
      */
     private int points;
 
+    /**
+     * The view of the board the enemies search their path on,
+     * reused between turns.
+     */
+    private char[][] boardView;
+
+    /**
+     * The planner of the enemies moves, created on the first turn.
+     * @see src.pathfinder.CooperativePlanner CooperativePlanner
+     */
+    private CooperativePlanner planner;
+
     /**
      * Constructs a 5 x 5 empty board.
      */
@@ -171,9 +184,9 @@ public class Board {
     /**
      * @return The enemies on the board
      * @see src.game.Player Player
-     * @see src.logic.DynamicArray DynamicArray
+     * @see src.logic.HashedDynamicArray HashedDynamicArray
      */
-    public DynamicArray<Player> getEnemies() {
+    public HashedDynamicArray<Player> getEnemies() {
         return enemies;
     }
 
@@ -631,19 +644,23 @@ public class Board {
     /**
      * Returns the array resulting of converting any non-empty
      * tiles apart from the Player to BLANK.
+     * 
+     * <p>The view is written on a buffer reused between calls.
      * @param player - The Player to get the view of
      * @return The view of the Player
      */
     private char[][] getPlayerBoardView(Player player) {
-        char[][] boardView = new char[board.length][board[0].length];
+        if (boardView == null || boardView.length != board.length || boardView[0].length != board[0].length) {
+            boardView = new char[board.length][board[0].length];
+        }
+        int[] playerPos = this.player.getPosition();
         for (int y = 0; y < board.length; y++) {
             for (int x = 0; x < board[y].length; x++) {
-                int[] coord = new int[]{x, y};
                 char tile = board[y][x];
-                if (tile == BORDER || getEnemy(coord) != null) {
-                    boardView[y][x] = BORDER;
-                } else {
+                if (tile == BLANK || (x == playerPos[0] && y == playerPos[1])) {
                     boardView[y][x] = BLANK;
+                } else {
+                    boardView[y][x] = BORDER;
                 }
             }
         }
@@ -656,34 +673,67 @@ public class Board {
      * 
      * <p>An enemy may move in a turn or not, it is randomly calculated.
      * ncreasing exponentially as the player gets more points.
+     * 
+     * <p>The enemies that move this turn are planned together, so they
+     * don't walk into each other, and then take their moves one at a time,
+     * every enemy taking its first move before any takes its second one.
+     * The enemies that don't move are obstacles for the rest.
      */
     public void moveEnemies() {
         int[] playerPos = player.getPosition();
+        char[][] enemyBoardView = getPlayerBoardView(player);
+        DynamicArray<Player> movers = new DynamicArray<>();
+        DynamicArray<Point> starts = new DynamicArray<>();
         for (Player enemy : enemies) {
             if (rand.nextInt(10) <= 4) {
-                int[] enemyPos = enemy.getPosition();
                 if (isInRange(enemy, player)) {
                     attack(enemy, player);
                 } else {
-                    char[][] enemyBoardView = getPlayerBoardView(enemy);
-                    try {
-                        A a = new A(enemyBoardView);
-                        Point enemyPoint = new Point(enemyPos, null);
-                        Point playerPoint = new Point(playerPos, null);
-                        DynamicArray<Point> path = a.path(enemyPoint, playerPoint);
-                        
-                        if (path != null) {
-                            int[] nextPosition = path.get(enemy.getMovePoints()-1).coordinate;
-                            board[enemyPos[1]][enemyPos[0]] = BLANK;
-                            enemy.setPosition(nextPosition);
-                            enemyPos = enemy.getPosition();
-                            board[enemyPos[1]][enemyPos[0]] = enemy.getSymbol();
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
+                    int[] enemyPos = enemy.getPosition();
+                    enemyBoardView[enemyPos[1]][enemyPos[0]] = BLANK;
+                    movers.push(enemy);
+                    starts.push(new Point(enemyPos, null));
+                }
+            }
+        }
+        if (movers.isEmpty()) {
+            return;
+        }
+
+        if (planner == null) {
+            planner = new CooperativePlanner(enemyBoardView, CooperativePlanner.DEFAULT_WINDOW, BLANK);
+        }
+        planner.setBoard(enemyBoardView);
+        DynamicArray<DynamicArray<Point>> paths = planner.plan(starts, new Point(playerPos, null));
+        boolean[] stopped = new boolean[movers.size()];
+        for (int step = 0; step < planner.getWindow(); step++) {
+            // An enemy may move into a tile another one leaves on the same move
+            boolean moved = true;
+            boolean[] done = new boolean[movers.size()];
+            while (moved) {
+                moved = false;
+                for (int i = 0; i < movers.size(); i++) {
+                    Player enemy = movers.get(i);
+                    DynamicArray<Point> path = paths.get(i);
+                    if (done[i] || stopped[i] || step >= enemy.getMovePoints() || step >= path.size()) {
+                        continue;
+                    }
+                    int[] enemyPos = enemy.getPosition();
+                    int[] nextPosition = path.get(step).coordinate;
+                    if (Operator.equals(nextPosition, enemyPos)) {
+                        done[i] = true;
+                    } else if (board[nextPosition[1]][nextPosition[0]] == BLANK) {
+                        board[enemyPos[1]][enemyPos[0]] = BLANK;
+                        enemy.setPosition(nextPosition);
+                        board[nextPosition[1]][nextPosition[0]] = enemy.getSymbol();
+                        done[i] = true;
+                        moved = true;
                     }
                 }
             }
+            for (int i = 0; i < movers.size(); i++) {
+                stopped[i] |= !done[i] && step < paths.get(i).size();
+            }
         }
     }
 
@@ -727,7 +777,7 @@ public class Board {
         points = 0;
         playerMove = true;
         player = copyPlayer;
-        enemies = new DynamicArray<>();
+        enemies = new HashedDynamicArray<>();
         clearBord();
         try {
             spawnPlayer(player);
@@ -339,12 +339,21 @@ public class Gui {
                 timer.scheduleAtFixedRate(new TimerTask () {
                     @Override
                     public void run() {
-                        if (showView) {
-                            updateBoard(BOARD.toHTMLString());
-                        } else {
-                            updateBoard(BOARD.toHTMLString(getViewAttackBoard()));
-                        }
-                        showView = !showView;
+                        // The board is only read on the EDT, the thread that modifies it
+                        SwingUtilities.invokeLater(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!iddle) {
+                                    return;
+                                }
+                                if (showView) {
+                                    updateBoard(BOARD.toHTMLString());
+                                } else {
+                                    updateBoard(BOARD.toHTMLString(getViewAttackBoard()));
+                                }
+                                showView = !showView;
+                            }
+                        });
                     };
                 }, 0, 500);
             } else {
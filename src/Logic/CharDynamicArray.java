@@ -0,0 +1,462 @@
+package src.logic;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Dynamic array of {@code char} values.
+ * 
+ * <p>Mirrors the methods of {@link src.logic.DynamicArray DynamicArray},
+ * but keeps the values on a {@code char[]} buffer instead of boxing
+ * every one of them into an object.
+ * 
+ * <p>The buffer may be bigger than the array, its capacity. When a value
+ * doesn't fit the buffer grows by half its capacity, so adding a value
+ * at the end takes constant amortized time.
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.DynamicArray DynamicArray
+ */
+public class CharDynamicArray implements Iterable<Character> {
+    /**
+     * The capacity the buffer takes when the first value is added to an array constructed without one.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The array buffer to store the values of the CharDynamicArray.
+     * The capacity of the CharDynamicArray is the length of this buffer.
+     */
+    private char[] array;
+
+    /**
+     * The number of values of the array.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty array with an initial capacity of 0.
+     */
+    public CharDynamicArray() {
+        array = new char[0];
+    }
+
+    /**
+     * Constructs an empty array with the specified initial capacity.
+     * @param initialCapacity - The initial capacity of the array
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    public CharDynamicArray(int initialCapacity) {
+        if (initialCapacity >= 0) {
+            array = new char[initialCapacity];
+        } else {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+    }
+
+    /**
+     * Returns a copy of the values of the array.
+     * @return The values of the array
+     */
+    public char[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Constructs a {@code CharDynamicArray} object from the specified values.
+     * @param values - The specified values to convert
+     * @return A {@code CharDynamicArray} object holding a copy of the values
+     */
+    public static CharDynamicArray of(char... values) {
+        CharDynamicArray result = new CharDynamicArray(values.length);
+        System.arraycopy(values, 0, result.array, 0, values.length);
+        result.size = values.length;
+        return result;
+    }
+
+    /**
+     * Returns the size of the array.
+     * @return The size of the array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of values the array can hold before its buffer grows.
+     * @return The capacity of the array
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Grows the buffer, if needed, to hold at least the specified number of values.
+     * @param minCapacity - The minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            int capacity = Math.max(array.length + (array.length >> 1), DEFAULT_CAPACITY);
+            if (capacity < minCapacity || capacity < 0) {
+                capacity = minCapacity;
+            }
+            array = Arrays.copyOf(array, capacity);
+        }
+    }
+
+    /**
+     * Shrinks the buffer to the size of the array.
+     */
+    public void trimToSize() {
+        if (array.length > size) {
+            array = Arrays.copyOf(array, size);
+        }
+    }
+
+    /**
+     * Checks that an index is within the array boundaries.
+     */
+    private void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Asserts if the array is equal in size to a specified array.
+     * @param array - The array to check
+     * @return {@code true} if both arrays have the same size, {@code false} otherwise
+     */
+    public boolean isSameSize(CharDynamicArray array) {
+        return size() == array.size();
+    }
+
+    /**
+     * Returns {@code true} if the array contains no values.
+     * @return {@code true} if the array contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value at the specified position in the array.
+     * @param index - The position of the value to return
+     * @return The value at the specified position in the array
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public char get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return array[index];
+    }
+
+    /**
+     * Modifies the value at the specified position in the array.
+     * @param index - Index of the value to modify
+     * @param value - The value to set
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void set(int index, char value) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        array[index] = value;
+    }
+
+
+    /**
+     * Inserts a value at the specified position in the array.
+     * Shifts the value currently at that position and subsequent
+     * values to the right.
+     * @param index - The position in the array
+     * @param value - The value to add
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void push(int index, char value) {
+        checkIndex(index, size+1);
+        ensureCapacity(size+1);
+        System.arraycopy(array, index, array, index+1, size-index);
+        array[index] = value;
+        size++;
+    }
+
+    /**
+     * Adds a value after the last position in the array.
+     * @param value - The value to add
+     */
+    public void push(char value) {
+        if (size == array.length) {
+            ensureCapacity(size+1);
+        }
+        array[size++] = value;
+    }
+
+
+    /**
+     * Removes the specified index from the array.
+     * @param index - The index to remove
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void pop(int index) {
+        checkIndex(index, size);
+        System.arraycopy(array, index+1, array, index, size-index-1);
+        size--;
+    }
+
+    /**
+     * Removes the last index from the array.
+     */
+    public void pop() {
+        pop(size-1);
+    }
+
+    /**
+     * Removes the first <b>n</b> occurences of a value from the array.
+     * @param value - The value to remove
+     * @param max - The maximum number of values to be removed
+     * @return {@code true} if the array contained the specified value
+     */
+    public boolean popValue(char value, int max) {
+        int kept = 0;
+        int occurences = 0;
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value && occurences < max) {
+                occurences++;
+            } else {
+                array[kept++] = array[i];
+            }
+        }
+        size = kept;
+        return occurences > 0;
+    }
+
+    /**
+     * Removes the first occurence of a value from the array.
+     * @param value - The value to remove
+     * @return {@code true} if the array contained the specified value
+     */
+    public boolean popValue(char value) {
+        return popValue(value, 1);
+    }
+
+    /**
+     * Removes all the occurences of a value from the array.
+     * @param value - The value to remove
+     * @return {@code true} if the array contained the specified value
+     */
+    public boolean popAll(char value) {
+        return popValue(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes from the list all of the values whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * Shifts any values to the left if needed. This method shortens
+     * the array by {@code (toIndex - fromIndex)} values.
+     * (If {@code toIndex == fromIndex}, this operation has no effect)
+     * @param fromIndex - The start of the range
+     * @param toIndex - The end of the range
+     */
+    public void popRange(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex must be lower than toIndex");
+        }
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
+        }
+
+        System.arraycopy(array, toIndex, array, fromIndex, size-toIndex);
+        size -= toIndex-fromIndex;
+    }
+
+    /**
+     * Returns a subarray of the array between the range, {@code fromIndex},
+     * and {@code toIndex}, both inclusive.
+     * (If {@code fromIndex} and {@code toIndex} are equal, the returned
+     * array is constructed from the index at that position).
+     * @param fromIndex - The start of the range
+     * @param toIndex - The end of the range
+     * @return The subarray constructed from the specified range
+     */
+    public CharDynamicArray sublist(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex must be lower than toIndex");
+        }
+        if (fromIndex < 0 || toIndex >= size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
+        }
+
+        CharDynamicArray result = new CharDynamicArray(toIndex-fromIndex+1);
+        System.arraycopy(array, fromIndex, result.array, 0, toIndex-fromIndex+1);
+        result.size = toIndex-fromIndex+1;
+        return result;
+    }
+
+
+    /**
+     * Sets all of the values of the array to {@code 0}.
+     */
+    public void clear() {
+        Arrays.fill(array, 0, size, (char) 0);
+    }
+
+
+    /**
+     * Returns the number of occurences of a value in the array.
+     * @param value - The value to search for
+     * @return The number of occurences found in the array
+     */
+    public int count(char value) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Joins another {@code CharDynamicArray} to the array.
+     * @param array - The {@code CharDynamicArray} to join
+     */
+    public void join(CharDynamicArray array) {
+        int length = array.size;
+        ensureCapacity(size+length);
+        System.arraycopy(array.array, 0, this.array, size, length);
+        size += length;
+    }
+
+    /**
+     * Returns the index of the first occurence of a value
+     * on the array between the range, {@code start}, and {@code end},
+     * both inclusive, or -1 if there is no such index.
+     * @param value - The value to search
+     * @param start - The start of the range
+     * @param end - The end of the range
+     * @return The index of the first occurence of the value on the array
+     * @throws IndexOutOfBoundsException if the range is outside the array boundaries
+     */
+    public int indexOfRange(char value, int start, int end) {
+        for (int i = start; i <= end; i++) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurence of a value on the array
+     * or -1 if there is no such index.
+     * @param value - The value to search
+     * @return The index of the first occurence of the value on the array
+     */
+    public int indexOf(char value) {
+        return indexOfRange(value, 0, size-1);
+    }
+
+    /**
+     * Returns the index of the last occurence of a value
+     * on the array between the range, {@code start}, and {@code end},
+     * both inclusive, or -1 if there is no such index.
+     * @param value - The value to search
+     * @param start - The start of the range
+     * @param end - The end of the range
+     * @return The index of the last occurence of the value on the array
+     * @throws IndexOutOfBoundsException if the range is outside the array boundaries
+     */
+    public int lastIndexOfRange(char value, int start, int end) {
+        for (int i = end; i >= start; i--) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurence of a value on the array
+     * or -1 if there is no such index.
+     * @param value - The value to search
+     * @return The index of the last occurence of the value on the array
+     */
+    public int lastIndexOf(char value) {
+        return lastIndexOfRange(value, 0, size-1);
+    }
+
+
+    /**
+     * Returns {@code true} if the array contains a value.
+     * @param value - The value to search
+     * @return {@code true} if the array contains the value
+     */
+    public boolean contains(char value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Asserts if the array is equal to a specified array.
+     * @param array - The array to check
+     * @return {@code true} if both arrays are equal, {@code false} otherwise
+     */
+    public boolean equals(CharDynamicArray array) {
+        if (array == this) {
+            return true;
+        }
+        return Arrays.equals(this.array, 0, size, array.array, 0, array.size);
+    }
+
+
+    /**
+     * Returns an iterator over the values in the array.
+     * @return an iterator over the values in the array
+     */
+    @Override
+    public Iterator<Character> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Implementation of the Iterable class.
+     */
+    private class Itr implements Iterator<Character> {
+        /**
+         * Index of the next value to return.
+         */
+        int cursor;
+
+        Itr(){}
+
+        public boolean hasNext() {
+            return cursor != size;
+        }
+
+        public Character next() {
+            return nextChar();
+        }
+
+        /**
+         * Returns the next value without boxing it.
+         * @return The next value in the array
+         */
+        public char nextChar() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            return array[cursor++];
+        }
+    }
+
+
+    /**
+     * Returns the values of the array as a string.
+     * @return A string of the values of the array, in order
+     */
+    @Override
+    public String toString() {
+        return new String(array, 0, size);
+    }
+}
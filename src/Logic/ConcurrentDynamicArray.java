@@ -0,0 +1,422 @@
+package src.logic;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Dynamic array that many threads can read while another one modifies it.
+ * 
+ * <p>Mirrors the methods of {@link src.logic.DynamicArray DynamicArray},
+ * but every modification copies the elements to a new buffer and then
+ * publishes it, so a buffer never changes once other threads can see it.
+ * Reading never blocks: every read sees the elements of the last buffer
+ * published, and a {@link #snapshot() snapshot} or an iterator keeps the
+ * elements of the buffer it was taken from however the array changes later.
+ * 
+ * <p>The modifications are serialized with each other, so they are safe
+ * from any thread, but each of them takes linear time. The array suits the
+ * short lists that are read far more often than they change, such as the
+ * entities on a board being drawn from a thread other than the one that
+ * moves them.
+ * 
+ * @param <E> the type of elements in the array
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.DynamicArray DynamicArray
+ */
+public class ConcurrentDynamicArray<E> implements Iterable<E> {
+    /**
+     * The buffer of an empty array.
+     */
+    private static final Object[] EMPTY = {};
+
+    /**
+     * The elements of the array, never modified once published.
+     */
+    private volatile Object[] array = EMPTY;
+
+    /**
+     * The lock the modifications hold.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Constructs an empty array.
+     */
+    public ConcurrentDynamicArray() {}
+
+    /**
+     * Constructs a {@code ConcurrentDynamicArray} object from the specified array.
+     * @param array - The specified array to convert
+     * @return A {@code ConcurrentDynamicArray} object from the specified array
+     */
+    public static <E> ConcurrentDynamicArray<E> of(E[] array) {
+        ConcurrentDynamicArray<E> result = new ConcurrentDynamicArray<>();
+        result.array = Arrays.copyOf(array, array.length, Object[].class);
+        return result;
+    }
+
+    /**
+     * Returns a consistent view of the elements of the array at this moment.
+     * 
+     * <p>Taking a snapshot doesn't copy anything, and the snapshot doesn't
+     * change when the array does.
+     * @return The elements of the array, in order
+     */
+    public Snapshot<E> snapshot() {
+        return new Snapshot<>(array);
+    }
+
+    /**
+     * Returns the elements of the array.
+     * @return A new array with the elements of the array, in order
+     */
+    public Object[] toArray() {
+        Object[] elements = array;
+        return Arrays.copyOf(elements, elements.length);
+    }
+
+    /**
+     * Copies the elements to a {@code DynamicArray}.
+     * @return A {@code DynamicArray} with the elements of the array, in order
+     */
+    @SuppressWarnings("unchecked")
+    public DynamicArray<E> toDynamicArray() {
+        return DynamicArray.of((E[]) toArray());
+    }
+
+    /**
+     * Returns the size of the array.
+     * @return The size of the array
+     */
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Returns {@code true} if the array contains no elements.
+     * @return {@code true} if the array contains no elements
+     */
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    /**
+     * Checks if the index is within the array boundaries.
+     */
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+
+    /**
+     * Returns the value of the specified index.
+     * @param index - The index to search
+     * @return The element from the specified index
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) throws IndexOutOfBoundsException {
+        Object[] elements = array;
+        checkIndex(index, elements.length);
+        return (E) elements[index];
+    }
+
+    /**
+     * Modifies the value of the specified index.
+     * @param index - The index to modify
+     * @param element - The element to set
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void set(int index, E element) throws IndexOutOfBoundsException {
+        synchronized (lock) {
+            Object[] elements = array;
+            checkIndex(index, elements.length);
+            Object[] result = elements.clone();
+            result[index] = element;
+            array = result;
+        }
+    }
+
+    /**
+     * Adds an element at the specified index, shifting the elements after it.
+     * @param index - The index to add the element at
+     * @param element - The element to add
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void push(int index, E element) throws IndexOutOfBoundsException {
+        synchronized (lock) {
+            Object[] elements = array;
+            if (index < 0 || index > elements.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+            }
+            Object[] result = new Object[elements.length+1];
+            System.arraycopy(elements, 0, result, 0, index);
+            result[index] = element;
+            System.arraycopy(elements, index, result, index+1, elements.length-index);
+            array = result;
+        }
+    }
+
+    /**
+     * Adds an element after the last position in the array.
+     * @param element - The element to add
+     */
+    public void push(E element) {
+        synchronized (lock) {
+            Object[] elements = array;
+            Object[] result = Arrays.copyOf(elements, elements.length+1);
+            result[elements.length] = element;
+            array = result;
+        }
+    }
+
+    /**
+     * Adds an element after the last position in the array if it isn't already on it.
+     * @param element - The element to add
+     * @return {@code false} if the element was already on the array, in which case nothing changes
+     */
+    public boolean pushIfAbsent(E element) {
+        synchronized (lock) {
+            if (indexOf(array, element) >= 0) {
+                return false;
+            }
+            push(element);
+            return true;
+        }
+    }
+
+
+    /**
+     * Removes the specified index from the array.
+     * @param index - The index to remove
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void pop(int index) throws IndexOutOfBoundsException {
+        synchronized (lock) {
+            Object[] elements = array;
+            checkIndex(index, elements.length);
+            Object[] result = new Object[elements.length-1];
+            System.arraycopy(elements, 0, result, 0, index);
+            System.arraycopy(elements, index+1, result, index, elements.length-index-1);
+            array = result;
+        }
+    }
+
+    /**
+     * Removes the last index from the array.
+     * @throws IndexOutOfBoundsException If the array is empty
+     */
+    public void pop() throws IndexOutOfBoundsException {
+        synchronized (lock) {
+            pop(array.length-1);
+        }
+    }
+
+    /**
+     * Removes the first occurence of an element from the array.
+     * @param element - The element to remove
+     * @return {@code true} if the array contained the specified element
+     */
+    public boolean pop(E element) {
+        synchronized (lock) {
+            int index = indexOf(array, element);
+            if (index < 0) {
+                return false;
+            }
+            pop(index);
+            return true;
+        }
+    }
+
+    /**
+     * Removes all of the elements from the array.
+     */
+    public void clear() {
+        synchronized (lock) {
+            array = EMPTY;
+        }
+    }
+
+
+    /**
+     * Adds the elements of a {@code DynamicArray} after the last position in the array.
+     * @param array - The {@code DynamicArray} to join
+     */
+    public void join(DynamicArray<E> array) {
+        synchronized (lock) {
+            Object[] elements = this.array;
+            Object[] result = Arrays.copyOf(elements, elements.length + array.size());
+            int i = elements.length;
+            for (E element : array) {
+                result[i++] = element;
+            }
+            this.array = result;
+        }
+    }
+
+    /**
+     * Returns the index of the specified element on the array
+     * or -1 if the array doesn't contain it.
+     * @param element - The element to search
+     * @return The index of the element on the array
+     */
+    public int indexOf(E element) {
+        return indexOf(array, element);
+    }
+
+    /**
+     * Returns the index of an element on a buffer, or -1 if it isn't on it.
+     */
+    private static int indexOf(Object[] elements, Object element) {
+        for (int i = 0; i < elements.length; i++) {
+            if (Objects.equals(elements[i], element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if the array contains the specified element.
+     * @param element - The element to search
+     * @return {@code true} if the array contains the specified element
+     */
+    public boolean contains(E element) {
+        return indexOf(array, element) >= 0;
+    }
+
+
+    /**
+     * Returns an iterator over the elements in the array.
+     * 
+     * <p>The iterator walks the elements the array had when it was created,
+     * so the array may be modified while it is iterated.
+     * @return an iterator over the elements in the array
+     */
+    public Iterator<E> iterator() {
+        return new Itr<>(array);
+    }
+
+    /**
+     * Performs the given action for each element of the array, in order,
+     * on the elements the array had when the call started.
+     * @param action - The action to be performed for each element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (Object element : array) {
+            action.accept((E) element);
+        }
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over the elements the array has at this moment.
+     * @return A stream over the elements of the array
+     */
+    public Stream<E> stream() {
+        return snapshot().stream();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(array);
+    }
+
+
+    /**
+     * Implementation of the Iterable class.
+     */
+    private static class Itr<E> implements Iterator<E> {
+        /**
+         * The elements iterated.
+         */
+        private final Object[] elements;
+
+        /**
+         * Index of the next element to return.
+         */
+        int cursor;
+
+        Itr(Object[] elements) {
+            this.elements = elements;
+        }
+
+        public boolean hasNext() {
+            return cursor < elements.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= elements.length) {
+                throw new NoSuchElementException();
+            }
+            return (E) elements[cursor++];
+        }
+    }
+
+    /**
+     * The elements of a {@code ConcurrentDynamicArray} at some moment, which never change.
+     */
+    public static class Snapshot<E> implements Iterable<E> {
+        /**
+         * The elements of the snapshot.
+         */
+        private final Object[] elements;
+
+        Snapshot(Object[] elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * @return The number of elements of the snapshot
+         */
+        public int size() {
+            return elements.length;
+        }
+
+        /**
+         * @return {@code true} if the snapshot has no elements
+         */
+        public boolean isEmpty() {
+            return elements.length == 0;
+        }
+
+        /**
+         * Returns the value of the specified index.
+         * @param index - The index to search
+         * @return The element from the specified index
+         * @throws IndexOutOfBoundsException If the index is outside the snapshot boundaries
+         */
+        @SuppressWarnings("unchecked")
+        public E get(int index) throws IndexOutOfBoundsException {
+            checkIndex(index, elements.length);
+            return (E) elements[index];
+        }
+
+        /**
+         * @return An iterator over the elements of the snapshot
+         */
+        public Iterator<E> iterator() {
+            return new Itr<>(elements);
+        }
+
+        /**
+         * @return A sequential {@code Stream} over the elements of the snapshot
+         */
+        @SuppressWarnings("unchecked")
+        public Stream<E> stream() {
+            return Arrays.stream((E[]) elements);
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package src.logic;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * To-Do:
@@ -13,6 +23,11 @@ import java.util.NoSuchElementException;
  * 
  * <p>Comes with a wide variety of functions for array manipulation.
  * 
+ * <p>The elements are stored on a buffer that may be bigger than the array,
+ * its capacity. When an element doesn't fit the buffer grows by half its
+ * capacity, so adding an element at the end takes constant amortized time.
+ * The buffer never shrinks on its own, see {@link #trimToSize() trimToSize}.
+ * 
  * @param <E> the type of elements in the array
  * 
  * @since JDK 1.11
@@ -20,11 +35,22 @@ import java.util.NoSuchElementException;
  * 
  */
 public class DynamicArray<E> implements Iterable<E> {
+    /**
+     * The capacity the buffer takes when the first element is added to an array constructed without one.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
     /**
      * The array buffer to store the elements of the DynamicArray.
+     * The capacity of the DynamicArray is the length of this buffer.
      */
     private E[] array;
 
+    /**
+     * The number of elements of the array.
+     */
+    private int size;
+
     /**
      * Constructs an empty array with an initial capacity of 0.
      */
@@ -34,8 +60,8 @@ public class DynamicArray<E> implements Iterable<E> {
     }
 
     /**
-     * Constructs an empty array with an initial capacity of size.
-     * @param size the new size of the array
+     * Constructs an empty array with the specified initial capacity.
+     * @param initialCapacity - The initial capacity of the array
      * @throws IllegalArgumentException if the specified initial capacity is negative
      */
     @SuppressWarnings("unchecked")
@@ -52,12 +78,7 @@ public class DynamicArray<E> implements Iterable<E> {
      * @return The array of the object 
      */
     public E[]  toArray() {
-        int size = size();
-        E[] result = (E[]) new Object[size];
-        for (int i = 0; i < size; i++) {
-            result[i] = (E) array[i]; 
-        }
-        return result;
+        return Arrays.copyOf(array, size);
     }
 
     /**
@@ -67,9 +88,8 @@ public class DynamicArray<E> implements Iterable<E> {
      */
     public static <E> DynamicArray<E> of(E[] array) {
         DynamicArray<E> result = new DynamicArray<>(array.length);
-        for (int i = 0; i < result.size(); i++) {
-            result.set(i, array[i]);
-        }
+        System.arraycopy(array, 0, result.array, 0, array.length);
+        result.size = array.length;
         return result;
     }
 
@@ -78,9 +98,49 @@ public class DynamicArray<E> implements Iterable<E> {
      * @return The size of the array
      */
     public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of elements the array can hold before its buffer grows.
+     * @return The capacity of the array
+     */
+    public int capacity() {
         return array.length;
     }
 
+    /**
+     * Grows the buffer, if needed, to hold at least the specified number of elements.
+     * @param minCapacity - The minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            int capacity = Math.max(array.length + (array.length >> 1), DEFAULT_CAPACITY);
+            if (capacity < minCapacity || capacity < 0) {
+                capacity = minCapacity;
+            }
+            array = Arrays.copyOf(array, capacity);
+        }
+    }
+
+    /**
+     * Shrinks the buffer to the size of the array.
+     */
+    public void trimToSize() {
+        if (array.length > size) {
+            array = Arrays.copyOf(array, size);
+        }
+    }
+
+    /**
+     * Checks that an index is within the array boundaries.
+     */
+    private void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
     /**
      * Asserts if the array is equal in size to a specified array.
      * @param array - The array to check
@@ -105,7 +165,8 @@ public class DynamicArray<E> implements Iterable<E> {
      * @throws IndexOutOfBoundsException If the index is outside the array boundaries
      */
     public E get(int index) throws IndexOutOfBoundsException {
-        return (E) array[index];
+        checkIndex(index, size);
+        return array[index];
     }
 
     /**
@@ -115,6 +176,7 @@ public class DynamicArray<E> implements Iterable<E> {
      * @throws IndexOutOfBoundsException If the index is outside the array boundaries
      */
     public void set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
         array[index] = element;
     }
 
@@ -125,17 +187,14 @@ public class DynamicArray<E> implements Iterable<E> {
      * elements to the right.
      * @param index - The position in the array
      * @param element - The element to add
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
      */
     public void push(int index, E element) {
-        DynamicArray<E> result = new DynamicArray<>(size()+1);
-        for (int i = 0; i < index; i++) {
-            result.set(i, get(i));
-        }
-        result.set(index, element);
-        for (int i = index; i < size(); i++) {
-            result.set(i+1, get(i));
-        }
-        array = result.array;
+        checkIndex(index, size+1);
+        ensureCapacity(size+1);
+        System.arraycopy(array, index, array, index+1, size-index);
+        array[index] = element;
+        size++;
     }
 
     /**
@@ -150,16 +209,12 @@ public class DynamicArray<E> implements Iterable<E> {
     /**
      * Removes the specified index from the array.
      * @param index - The index to remove
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
      */
     public void pop(int index) {
-        DynamicArray<E> result = new DynamicArray<>(size()-1);
-        for (int i = 0; i < index; i++) {
-            result.set(i, get(i));
-        }
-        for (int i = index+1; i < size(); i++) {
-            result.set(i-1, get(i));
-        }
-        array = result.array;
+        checkIndex(index, size);
+        System.arraycopy(array, index+1, array, index, size-index-1);
+        array[--size] = null;
     }
 
     /**
@@ -170,24 +225,26 @@ public class DynamicArray<E> implements Iterable<E> {
     }
 
     /**
-     * Removes the first <b>n</b> elements found in the array.
+     * Removes the first <b>n</b> elements found in the array, shifting
+     * the rest to the left in a single pass.
      * @param element - The element to remove
      * @param max - The maximum number of elements to be removed
      * @return {@code true} if the array contained the specified element;
      */
     public boolean pop(E element, int max) {
+        int kept = 0;
         int occurences = 0;
-        for (int i = 0; i < size() && occurences < max; i++) {
-            if (get(i).equals(element)) {
-                pop(i);
-                i--;
+        for (int i = 0; i < size; i++) {
+            E current = array[i];
+            if (occurences < max && current != null && current.equals(element)) {
                 occurences++;
+            } else {
+                array[kept++] = current;
             }
         }
-        if (occurences > 0) {
-            return true;
-        }
-        return false;
+        Arrays.fill(array, kept, size, null);
+        size = kept;
+        return occurences > 0;
     }
 
     /**
@@ -221,15 +278,14 @@ public class DynamicArray<E> implements Iterable<E> {
         if (fromIndex > toIndex) {
             throw new IndexOutOfBoundsException("fromIndex must be lower than toIndex");
         }
-
-        DynamicArray<E> result = new DynamicArray<>(size()-(toIndex-fromIndex));
-        for (int i = 0; i < fromIndex; i++) {
-            result.set(i, get(i));
-        }
-        for (int i = toIndex; i < size(); i++) {
-            result.set(i-(toIndex-fromIndex), get(i));
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
         }
-        array = result.array;
+
+        System.arraycopy(array, toIndex, array, fromIndex, size-toIndex);
+        int newSize = size-(toIndex-fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
     }
 
     /**
@@ -246,21 +302,52 @@ public class DynamicArray<E> implements Iterable<E> {
             throw new IndexOutOfBoundsException("fromIndex must be lower than toIndex");
         }
 
-        DynamicArray<E> result = new DynamicArray<>(toIndex-fromIndex+1);
-        for (int i = 0; i < toIndex-fromIndex+1; i++) {
-            result.set(i, get(i+fromIndex));
+        if (fromIndex < 0 || toIndex >= size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
         }
+
+        DynamicArray<E> result = new DynamicArray<>(toIndex-fromIndex+1);
+        System.arraycopy(array, fromIndex, result.array, 0, toIndex-fromIndex+1);
+        result.size = toIndex-fromIndex+1;
         return result;
     }
 
+    /**
+     * Returns a view of the array between the range, {@code fromIndex},
+     * and {@code toIndex}, both inclusive, which shares the buffer of the
+     * array instead of copying it.
+     * 
+     * <p>Reading and modifying the elements through the view reads and
+     * modifies the array. The view is only valid while the array keeps
+     * the elements in its range, see {@link View View}.
+     * @param fromIndex - The start of the range
+     * @param toIndex - The end of the range
+     * @return A view of the specified range
+     * @throws IndexOutOfBoundsException If the range is outside the array boundaries
+     */
+    public View subView(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex+1 || fromIndex < 0 || toIndex >= size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
+        }
+        return new View(fromIndex, toIndex-fromIndex+1, false);
+    }
+
+    /**
+     * Returns a view of the whole array in reverse order, which shares the
+     * buffer of the array instead of copying it.
+     * @return A reversed view of the array
+     * @see #subView(int, int) subView
+     */
+    public View reversedView() {
+        return new View(0, size, true);
+    }
+
 
     /**
      * Sets all of the elements from the list to {@code null}.
      */
     public void clear() {
-        for (int i = 0; i < size(); i++) {
-            set(i, null);
-        }
+        Arrays.fill(array, 0, size, null);
     }
 
 
@@ -285,9 +372,10 @@ public class DynamicArray<E> implements Iterable<E> {
      * @param array - The {@code DynamicArray} to join
      */
     public void join(DynamicArray<E> array) {
-        for (int i = 0; i < array.size(); i++) {
-            push(array.get(i));
-        }
+        int length = array.size;
+        ensureCapacity(size+length);
+        System.arraycopy(array.array, 0, this.array, size, length);
+        size += length;
     }
 
     /**
@@ -382,6 +470,45 @@ public class DynamicArray<E> implements Iterable<E> {
     }
 
 
+    /**
+     * Sorts the array in place with the specified comparator.
+     * 
+     * <p>The sort is stable and takes {@code O(n log n)} comparisons.
+     * @param comparator - The comparator to sort by, or {@code null}
+     * to sort by the natural ordering of the elements
+     */
+    public void sort(Comparator<? super E> comparator) {
+        Arrays.sort(array, 0, size, comparator);
+    }
+
+    /**
+     * Sorts the array in place with the specified comparator, splitting
+     * the work across the threads of the common pool.
+     * 
+     * <p>The sort is stable. Small arrays are sorted on the calling thread,
+     * so this is only faster than {@link #sort(Comparator) sort} for big arrays.
+     * @param comparator - The comparator to sort by, or {@code null}
+     * to sort by the natural ordering of the elements
+     */
+    public void parallelSort(Comparator<? super E> comparator) {
+        Arrays.parallelSort(array, 0, size, comparator);
+    }
+
+    /**
+     * Searches the specified element on the array, which must be sorted
+     * by the specified comparator, in {@code O(log n)} comparisons.
+     * @param element - The element to search
+     * @param comparator - The comparator the array is sorted by, or
+     * {@code null} if it is sorted by the natural ordering of the elements
+     * @return The index of the element, if it is on the array, otherwise
+     * {@code -(insertion point) - 1}, the insertion point being the index
+     * the element would be inserted at to keep the array sorted
+     */
+    public int binarySearch(E element, Comparator<? super E> comparator) {
+        return Arrays.binarySearch(array, 0, size, element, comparator);
+    }
+
+
     /**
      * Returns an iterator over the elements in the array.
      * @return an iterator over the elements in the array
@@ -403,12 +530,12 @@ public class DynamicArray<E> implements Iterable<E> {
         Itr(){}
 
         public boolean hasNext() {
-            return cursor != size();
+            return cursor != size;
         }
         
         public E next() {
             int i = cursor;
-            if (i >= size()) {
+            if (i >= size) {
                 throw new NoSuchElementException();
             }
             cursor++;
@@ -417,6 +544,131 @@ public class DynamicArray<E> implements Iterable<E> {
     }
 
 
+    /**
+     * Performs the action for every element of the array, in order.
+     * @param action - The action to perform
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(array[i]);
+        }
+    }
+
+    /**
+     * Removes all of the elements that satisfy the filter, keeping the
+     * order of the rest, in a single pass over the array.
+     * @param filter - The filter of the elements to remove
+     * @return {@code true} if any element was removed
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            E element = array[i];
+            if (!filter.test(element)) {
+                array[kept++] = element;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        Arrays.fill(array, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    /**
+     * Replaces every element of the array with the result of the operator on it.
+     * @param operator - The operator to apply to every element
+     */
+    public void replaceAll(UnaryOperator<E> operator) {
+        for (int i = 0; i < size; i++) {
+            array[i] = operator.apply(array[i]);
+        }
+    }
+
+    /**
+     * Returns a sequential stream over the elements in the array.
+     * @return A sequential stream over the elements in the array
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements in the array.
+     * 
+     * <p>The array is split in halves across the threads of the stream,
+     * so the array must not be modified while the stream runs.
+     * @return A parallel stream over the elements in the array
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a spliterator over the elements in the array, which knows
+     * the exact size of the array and of every half it is split into.
+     * @return a spliterator over the elements in the array
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Splitr(0, size);
+    }
+
+    /**
+     * Implementation of the Spliterator class over a range of the array.
+     */
+    private class Splitr implements Spliterator<E> {
+        /**
+         * Index of the next element to return.
+         */
+        int cursor;
+
+        /**
+         * Index after the last element to return.
+         */
+        final int fence;
+
+        Splitr(int cursor, int fence) {
+            this.cursor = cursor;
+            this.fence = fence;
+        }
+
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (cursor >= fence) {
+                return false;
+            }
+            action.accept(array[cursor++]);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (; cursor < fence; cursor++) {
+                action.accept(array[cursor]);
+            }
+        }
+
+        public Spliterator<E> trySplit() {
+            int middle = (cursor + fence) >>> 1;
+            if (middle <= cursor) {
+                return null;
+            }
+            Splitr prefix = new Splitr(cursor, middle);
+            cursor = middle;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return fence - cursor;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+
     /**
      * Maps the array to an int array.
      * @return The mapped int array
@@ -452,4 +704,189 @@ public class DynamicArray<E> implements Iterable<E> {
     public static <E> int[] mapToInt(DynamicArray<E> array) {
         return mapToInt(array.toArray());
     }
+
+
+    /**
+     * A range of a {@code DynamicArray}, possibly in reverse order, that
+     * shares the buffer of the array.
+     * 
+     * <p>A view doesn't follow the elements when the size of the array
+     * changes: it keeps reading the same indices. Reading or modifying it
+     * once the array no longer holds its whole range throws
+     * {@code ConcurrentModificationException}.
+     */
+    public class View implements Iterable<E> {
+        /**
+         * The index on the array of the first element of the range.
+         */
+        private final int offset;
+
+        /**
+         * The number of elements of the view.
+         */
+        private final int length;
+
+        /**
+         * Wether the view reads the range from its end to its start.
+         */
+        private final boolean reversed;
+
+        View(int offset, int length, boolean reversed) {
+            this.offset = offset;
+            this.length = length;
+            this.reversed = reversed;
+        }
+
+        /**
+         * Returns the index on the array of an index of the view.
+         */
+        private int toArrayIndex(int index) {
+            checkIndex(index, length);
+            checkRange();
+            return reversed ? offset+length-1-index : offset+index;
+        }
+
+        /**
+         * Checks that the array still holds the whole range of the view.
+         */
+        private void checkRange() {
+            if (offset+length > size) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Returns the size of the view.
+         * @return The size of the view
+         */
+        public int size() {
+            return length;
+        }
+
+        /**
+         * Returns {@code true} if the view contains no elements.
+         * @return {@code true} if the view contains no elements
+         */
+        public boolean isEmpty() {
+            return length == 0;
+        }
+
+        /**
+         * Returns the value of the specified index of the view.
+         * @param index - The index to search
+         * @return The element from the specified index
+         * @throws IndexOutOfBoundsException If the index is outside the view boundaries
+         */
+        public E get(int index) throws IndexOutOfBoundsException {
+            return array[toArrayIndex(index)];
+        }
+
+        /**
+         * Modifies the value of the specified index of the view, and of the array.
+         * @param index - The index to modify
+         * @param element - The element to set
+         * @throws IndexOutOfBoundsException If the index is outside the view boundaries
+         */
+        public void set(int index, E element) throws IndexOutOfBoundsException {
+            array[toArrayIndex(index)] = element;
+        }
+
+        /**
+         * Returns the index of the first occurence of the specified element on the view
+         * or -1 if there is no such index.
+         * @param element - The element to search
+         * @return The index of the first occurence of the specified element on the view
+         */
+        public int indexOf(E element) {
+            for (int i = 0; i < length; i++) {
+                if (Objects.equals(element, get(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns {@code true} if the view contains the specified element.
+         * @param element - The element to search
+         * @return {@code true} if the view contains the specified element
+         */
+        public boolean contains(E element) {
+            return indexOf(element) >= 0;
+        }
+
+        /**
+         * Returns a view of this view between the range, {@code fromIndex},
+         * and {@code toIndex}, both inclusive.
+         * @param fromIndex - The start of the range
+         * @param toIndex - The end of the range
+         * @return A view of the specified range
+         * @throws IndexOutOfBoundsException If the range is outside the view boundaries
+         */
+        public View subView(int fromIndex, int toIndex) {
+            if (fromIndex > toIndex+1 || fromIndex < 0 || toIndex >= length) {
+                throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + length);
+            }
+            int start = reversed ? offset+length-1-toIndex : offset+fromIndex;
+            return new View(start, toIndex-fromIndex+1, reversed);
+        }
+
+        /**
+         * Returns a view of this view in reverse order.
+         * @return A reversed view of the view
+         */
+        public View reversedView() {
+            return new View(offset, length, !reversed);
+        }
+
+        /**
+         * Sorts the elements of the view in place, within its range of the array.
+         * @param comparator - The comparator to sort by, or {@code null}
+         * to sort by the natural ordering of the elements
+         */
+        @SuppressWarnings("unchecked")
+        public void sort(Comparator<? super E> comparator) {
+            checkRange();
+            if (reversed) {
+                Comparator<? super E> order = comparator != null ? comparator : (Comparator<? super E>) Comparator.naturalOrder();
+                Arrays.sort(array, offset, offset+length, order.reversed());
+            } else {
+                Arrays.sort(array, offset, offset+length, comparator);
+            }
+        }
+
+        /**
+         * Copies the elements of the view to a new {@code DynamicArray}.
+         * @return A {@code DynamicArray} with the elements of the view, in order
+         */
+        public DynamicArray<E> toDynamicArray() {
+            DynamicArray<E> result = new DynamicArray<>(length);
+            for (int i = 0; i < length; i++) {
+                result.array[i] = get(i);
+            }
+            result.size = length;
+            return result;
+        }
+
+        /**
+         * Returns an iterator over the elements in the view.
+         * @return an iterator over the elements in the view
+         */
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                int cursor;
+
+                public boolean hasNext() {
+                    return cursor < length;
+                }
+
+                public E next() {
+                    if (cursor >= length) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(cursor++);
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,296 @@
+package src.logic;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Double-ended queue backed by a circular array.
+ * 
+ * <p>Elements can be added and removed at both ends in constant amortized
+ * time, and read by index in constant time like a
+ * {@link src.logic.DynamicArray DynamicArray}, which makes it fit as the
+ * frontier of a breadth-first search or to build a path backwards.
+ * 
+ * <p>The elements wrap around the end of the buffer instead of being
+ * shifted. The capacity of the buffer is always a power of two, and it
+ * doubles when an element doesn't fit.
+ * 
+ * @param <E> the type of elements in the deque
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.DynamicArray DynamicArray
+ */
+public class DynamicDeque<E> implements Iterable<E> {
+    /**
+     * The capacity of a deque constructed without one.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The circular buffer to store the elements of the deque.
+     */
+    private E[] array;
+
+    /**
+     * The position of the first element on the buffer.
+     */
+    private int head;
+
+    /**
+     * The number of elements of the deque.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty deque with the default initial capacity.
+     */
+    public DynamicDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty deque that can hold at least the specified number of elements.
+     * @param initialCapacity - The initial capacity of the deque
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public DynamicDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 1));
+        if (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        array = (E[]) new Object[capacity];
+    }
+
+    /**
+     * Returns the size of the deque.
+     * @return The size of the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the deque contains no elements.
+     * @return {@code true} if the deque contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the position on the buffer of an index of the deque.
+     */
+    private int position(int index) {
+        return (head + index) & (array.length-1);
+    }
+
+    /**
+     * Doubles the buffer if it is full, unwrapping the elements at its start.
+     */
+    private void grow() {
+        if (size < array.length) {
+            return;
+        }
+        E[] result = Arrays.copyOf(array, array.length << 1);
+        System.arraycopy(array, 0, result, array.length, head);
+        Arrays.fill(result, 0, head, null);
+        array = result;
+    }
+
+    /**
+     * Checks that an index is within the deque boundaries.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the element at the specified position in the deque.
+     * @param index - The position of the element to return, {@code 0} being the first
+     * @return The element at the specified position in the deque
+     * @throws IndexOutOfBoundsException If the index is outside the deque boundaries
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return array[position(index)];
+    }
+
+    /**
+     * Modifies the element at the specified position in the deque to element.
+     * @param index - Index of the element to modify, {@code 0} being the first
+     * @param element - The element to set the value of
+     * @throws IndexOutOfBoundsException If the index is outside the deque boundaries
+     */
+    public void set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        array[position(index)] = element;
+    }
+
+
+    /**
+     * Adds an element before the first position in the deque.
+     * @param element - The element to add
+     */
+    public void pushFirst(E element) {
+        grow();
+        head = (head-1) & (array.length-1);
+        array[head] = element;
+        size++;
+    }
+
+    /**
+     * Adds an element after the last position in the deque.
+     * @param element - The element to add
+     */
+    public void pushLast(E element) {
+        grow();
+        array[position(size)] = element;
+        size++;
+    }
+
+    /**
+     * Removes and returns the first element of the deque.
+     * @return The first element of the deque
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public E popFirst() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E element = array[head];
+        array[head] = null;
+        head = (head+1) & (array.length-1);
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes and returns the last element of the deque.
+     * @return The last element of the deque
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public E popLast() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int last = position(size-1);
+        E element = array[last];
+        array[last] = null;
+        size--;
+        return element;
+    }
+
+    /**
+     * Returns the first element of the deque without removing it.
+     * @return The first element of the deque
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public E peekFirst() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[head];
+    }
+
+    /**
+     * Returns the last element of the deque without removing it.
+     * @return The last element of the deque
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public E peekLast() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[position(size-1)];
+    }
+
+
+    /**
+     * Removes all of the elements from the deque.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            array[position(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the index of the first occurence of the specified element
+     * on the deque, or -1 if there is no such index.
+     * @param element - The element to search
+     * @return The index of the first occurence of the specified element on the deque
+     */
+    public int indexOf(E element) {
+        for (int i = 0; i < size; i++) {
+            E current = array[position(i)];
+            if (element == null ? current == null : element.equals(current)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if the deque contains the specified element.
+     * @param element - The element to search
+     * @return {@code true} if the deque contains the specified element
+     */
+    public boolean contains(E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Copies the elements of the deque, from first to last, to a {@code DynamicArray}.
+     * @return A {@code DynamicArray} with the elements of the deque
+     */
+    public DynamicArray<E> toDynamicArray() {
+        DynamicArray<E> result = new DynamicArray<>(size);
+        for (int i = 0; i < size; i++) {
+            result.push(array[position(i)]);
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns an iterator over the elements in the deque, from first to last.
+     * @return an iterator over the elements in the deque
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Implementation of the Iterable class.
+     */
+    private class Itr implements Iterator<E> {
+        /**
+         * Index of the next element to return.
+         */
+        int cursor;
+
+        Itr(){}
+
+        public boolean hasNext() {
+            return cursor != size;
+        }
+
+        public E next() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            return array[position(cursor++)];
+        }
+    }
+}
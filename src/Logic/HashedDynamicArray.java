@@ -0,0 +1,442 @@
+package src.logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Dynamic array of distinct elements, indexed by a hash table.
+ * 
+ * <p>Mirrors the methods of {@link src.logic.DynamicArray DynamicArray}
+ * and keeps the elements in the order they were added, but checking
+ * whether an element is on the array, finding its index and removing
+ * it take constant time instead of scanning the whole array.
+ * 
+ * <p>Removing an element leaves a hole on the buffer instead of shifting
+ * the elements after it. Reading by index skips the holes by counting the
+ * elements on a Fenwick tree over the slots, in logarithmic time, and the
+ * holes are only closed, in a single pass, once they fill half of the
+ * slots in use, so their cost is spread over the removals. The elements
+ * need a {@code hashCode} consistent with their {@code equals}, and can't
+ * be {@code null}.
+ * 
+ * @param <E> the type of elements in the array
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.DynamicArray DynamicArray
+ */
+public class HashedDynamicArray<E> implements Iterable<E> {
+    /**
+     * The capacity the buffer takes when the first element is added to an array constructed without one.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The array buffer to store the elements, {@code null} on the holes left by removals.
+     */
+    private E[] array;
+
+    /**
+     * The number of slots of the buffer in use, holes included.
+     */
+    private int end;
+
+    /**
+     * The slot of every element on the buffer.
+     */
+    private HashMap<E, Integer> slots;
+
+    /**
+     * The number of elements on the slots, as a Fenwick tree indexed from 1,
+     * one longer than the buffer.
+     */
+    private int[] counts;
+
+    /**
+     * Constructs an empty array.
+     */
+    public HashedDynamicArray() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty array with the specified initial capacity.
+     * @param initialCapacity - The initial capacity of the array
+     * @throws IllegalArgumentException if the specified initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public HashedDynamicArray(int initialCapacity) {
+        if (initialCapacity >= 0) {
+            array = (E[]) new Object[initialCapacity];
+            counts = new int[initialCapacity+1];
+            slots = new HashMap<>(Math.max(16, initialCapacity*4/3+1));
+        } else {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+    }
+
+    /**
+     * Constructs a {@code HashedDynamicArray} object from the specified array,
+     * keeping the first occurence of every element.
+     * @param array - The specified array to convert
+     * @return A {@code HashedDynamicArray} object from the specified array
+     */
+    public static <E> HashedDynamicArray<E> of(E[] array) {
+        HashedDynamicArray<E> result = new HashedDynamicArray<>(array.length);
+        for (E element : array) {
+            result.push(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of the array.
+     * @return The elements of the array, in order
+     */
+    public E[] toArray() {
+        compact();
+        return Arrays.copyOf(array, end);
+    }
+
+    /**
+     * Copies the elements to a {@code DynamicArray}.
+     * @return A {@code DynamicArray} with the elements of the array, in order
+     */
+    public DynamicArray<E> toDynamicArray() {
+        compact();
+        return DynamicArray.of(Arrays.copyOf(array, end));
+    }
+
+    /**
+     * Returns the size of the array.
+     * @return The size of the array
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns {@code true} if the array contains no elements.
+     * @return {@code true} if the array contains no elements
+     */
+    public boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+
+    /**
+     * Closes the holes left by the removals, updating the slots of the elements moved.
+     */
+    private void compact() {
+        if (end == slots.size()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < end; i++) {
+            E element = array[i];
+            if (element != null) {
+                if (kept != i) {
+                    array[kept] = element;
+                    slots.put(element, kept);
+                }
+                kept++;
+            }
+        }
+        Arrays.fill(array, kept, end, null);
+        end = kept;
+        buildCounts();
+    }
+
+    /**
+     * Rebuilds the counts of the slots from the buffer, in linear time.
+     */
+    private void buildCounts() {
+        if (counts.length != array.length+1) {
+            counts = new int[array.length+1];
+        } else {
+            Arrays.fill(counts, 0);
+        }
+        for (int i = 0; i < end; i++) {
+            if (array[i] != null) {
+                counts[i+1]++;
+            }
+        }
+        for (int i = 1; i < counts.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < counts.length) {
+                counts[parent] += counts[i];
+            }
+        }
+    }
+
+    /**
+     * Adds to the count of a slot.
+     */
+    private void count(int slot, int delta) {
+        for (int i = slot+1; i < counts.length; i += i & -i) {
+            counts[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the number of elements on the slots before the specified one.
+     */
+    private int rank(int slot) {
+        int rank = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            rank += counts[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the slot of the element at the specified index.
+     */
+    private int select(int index) {
+        int slot = 0;
+        int remaining = index+1;
+        for (int step = Integer.highestOneBit(counts.length-1); step > 0; step >>= 1) {
+            if (slot + step < counts.length && counts[slot + step] < remaining) {
+                slot += step;
+                remaining -= counts[slot];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Checks that an element can be held by the array.
+     */
+    private void checkElement(E element) {
+        if (element == null) {
+            throw new NullPointerException("The array can't hold null elements");
+        }
+    }
+
+    /**
+     * Checks that an index is within the array boundaries.
+     */
+    private void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the element at the specified position in the array.
+     * @param index - The position of the element to return
+     * @return The element at the specified position in the array
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, slots.size());
+        return array[end == slots.size() ? index : select(index)];
+    }
+
+    /**
+     * Replaces the element at the specified position in the array.
+     * @param index - Index of the element to replace
+     * @param element - The new element
+     * @return {@code false} if the element was already on the array at another position,
+     * in which case nothing changes
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public boolean set(int index, E element) throws IndexOutOfBoundsException {
+        checkElement(element);
+        E old = get(index);
+        int oldSlot = slots.get(old);
+        Integer slot = slots.get(element);
+        if (slot != null) {
+            return slot == oldSlot;
+        }
+        slots.remove(old);
+        slots.put(element, oldSlot);
+        array[oldSlot] = element;
+        return true;
+    }
+
+
+    /**
+     * Inserts an element at the specified position in the array.
+     * Shifts the element currently at that position and subsequent
+     * elements to the right.
+     * @param index - The position in the array
+     * @param element - The element to add
+     * @return {@code false} if the element was already on the array, in which case nothing changes
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public boolean push(int index, E element) {
+        checkElement(element);
+        compact();
+        checkIndex(index, end+1);
+        if (slots.containsKey(element)) {
+            return false;
+        }
+        ensureCapacity(end+1);
+        System.arraycopy(array, index, array, index+1, end-index);
+        array[index] = element;
+        end++;
+        for (int i = index; i < end; i++) {
+            slots.put(array[i], i);
+        }
+        buildCounts();
+        return true;
+    }
+
+    /**
+     * Adds an element after the last position in the array.
+     * @param element - The element to add
+     * @return {@code false} if the element was already on the array, in which case nothing changes
+     */
+    public boolean push(E element) {
+        checkElement(element);
+        if (slots.putIfAbsent(element, end) != null) {
+            return false;
+        }
+        ensureCapacity(end+1);
+        array[end] = element;
+        count(end++, 1);
+        return true;
+    }
+
+    /**
+     * Grows the buffer, if needed, to hold at least the specified number of slots.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            int capacity = Math.max(array.length + (array.length >> 1), DEFAULT_CAPACITY);
+            array = Arrays.copyOf(array, Math.max(capacity, minCapacity));
+            buildCounts();
+        }
+    }
+
+
+    /**
+     * Removes the specified index from the array.
+     * @param index - The index to remove
+     * @throws IndexOutOfBoundsException If the index is outside the array boundaries
+     */
+    public void pop(int index) {
+        pop(get(index));
+    }
+
+    /**
+     * Removes the last index from the array.
+     */
+    public void pop() {
+        pop(size()-1);
+    }
+
+    /**
+     * Removes an element from the array.
+     * @param element - The element to remove
+     * @return {@code true} if the array contained the specified element
+     */
+    public boolean pop(E element) {
+        Integer slot = slots.remove(element);
+        if (slot == null) {
+            return false;
+        }
+        array[slot] = null;
+        count(slot, -1);
+        while (end > 0 && array[end-1] == null) {
+            end--;
+        }
+        if (2*(end - slots.size()) > end) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all of the elements from the array.
+     */
+    public void clear() {
+        Arrays.fill(array, 0, end, null);
+        Arrays.fill(counts, 0);
+        end = 0;
+        slots.clear();
+    }
+
+
+    /**
+     * Adds the elements of a {@code DynamicArray} that aren't already on the array.
+     * @param array - The {@code DynamicArray} to join
+     */
+    public void join(DynamicArray<E> array) {
+        ensureCapacity(end + array.size());
+        for (E element : array) {
+            push(element);
+        }
+    }
+
+    /**
+     * Returns the index of the specified element on the array
+     * or -1 if the array doesn't contain it.
+     * @param element - The element to search
+     * @return The index of the element on the array
+     */
+    public int indexOf(E element) {
+        Integer slot = slots.get(element);
+        if (slot == null) {
+            return -1;
+        }
+        return end == slots.size() ? slot : rank(slot);
+    }
+
+    /**
+     * Returns {@code true} if the array contains the specified element.
+     * @param element - The element to search
+     * @return {@code true} if the array contains the specified element
+     */
+    public boolean contains(E element) {
+        return slots.containsKey(element);
+    }
+
+
+    /**
+     * Returns an iterator over the elements in the array.
+     * 
+     * <p>The array can't be modified while it is iterated.
+     * @return an iterator over the elements in the array
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Implementation of the Iterable class.
+     */
+    private class Itr implements Iterator<E> {
+        /**
+         * Slot of the next element to return.
+         */
+        int cursor;
+
+        Itr(){
+            skipHoles();
+        }
+
+        private void skipHoles() {
+            while (cursor < end && array[cursor] == null) {
+                cursor++;
+            }
+        }
+
+        public boolean hasNext() {
+            return cursor < end;
+        }
+
+        public E next() {
+            if (cursor >= end) {
+                throw new NoSuchElementException();
+            }
+            E element = array[cursor++];
+            skipHoles();
+            return element;
+        }
+    }
+}
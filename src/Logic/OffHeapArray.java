@@ -0,0 +1,356 @@
+package src.logic;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Dynamic array of fixed-size {@code int} entries stored outside the Java heap.
+ * 
+ * <p>Every entry is made of {@link #getStride() stride} ints, such as the
+ * {x, y} pair of a coordinate, packed one after the other on a direct
+ * {@link ByteBuffer}. However many entries the array holds, the garbage
+ * collector only sees the array and its buffer, never an object per entry.
+ * 
+ * <p>The entries are read and written one component at a time, or in bulk
+ * from and to heap {@code int[]} arrays. Once the array is no longer needed
+ * it should be {@link #close() closed}, preferably through a
+ * try-with-resources statement, after which any access throws
+ * {@code IllegalStateException}.
+ * 
+ * <p>The native memory of a buffer is freed right away when the array is
+ * closed and when it grows into a new buffer, through the
+ * {@code invokeCleaner} method of {@code sun.misc.Unsafe} from the
+ * {@code jdk.unsupported} module. If that method can't be reached, the
+ * memory is only freed once the collector finds the buffer unreachable,
+ * which may take long on a heap with little garbage.
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.IntDynamicArray IntDynamicArray
+ */
+public class OffHeapArray implements AutoCloseable {
+    /**
+     * The maximum number of ints a direct buffer can hold.
+     */
+    private static final int MAX_INTS = Integer.MAX_VALUE / Integer.BYTES;
+
+    /**
+     * The {@code sun.misc.Unsafe} instance and its {@code invokeCleaner}
+     * method, {@code null} if they can't be reached.
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * The number of ints of every entry.
+     */
+    private final int stride;
+
+    /**
+     * The direct buffer holding the entries, {@code null} once the array is closed.
+     */
+    private ByteBuffer bytes;
+
+    /**
+     * The ints of the entries, a view of {@link #bytes}, {@code null} once the array is closed.
+     */
+    private IntBuffer ints;
+
+    /**
+     * The number of entries of the array.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty array of entries of the specified number of ints.
+     * @param stride - The number of ints of every entry
+     * @param initialCapacity - The number of entries the array can hold before growing
+     * @throws IllegalArgumentException If the stride isn't positive or the capacity is negative or too big
+     */
+    public OffHeapArray(int stride, int initialCapacity) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Illegal stride: " + stride);
+        }
+        if (initialCapacity < 0 || initialCapacity > MAX_INTS / stride) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.stride = stride;
+        bytes = allocate(initialCapacity*stride);
+        ints = bytes.asIntBuffer();
+    }
+
+    /**
+     * Allocates a direct buffer of the specified number of ints.
+     */
+    private static ByteBuffer allocate(int length) {
+        return ByteBuffer.allocateDirect(length*Integer.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Frees the native memory of a direct buffer, or leaves it for the
+     * collector if {@code invokeCleaner} can't be reached.
+     * 
+     * <p>The buffer, and every view of it, must not be used afterwards.
+     * @param buffer - The buffer returned by {@link #allocate(int) allocate}
+     */
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The memory is still freed once the buffer is collected
+        }
+    }
+
+    /**
+     * Returns the ints of the entries.
+     * @throws IllegalStateException If the array is closed
+     */
+    private IntBuffer ints() {
+        if (ints == null) {
+            throw new IllegalStateException("The array is closed");
+        }
+        return ints;
+    }
+
+    /**
+     * Checks that an entry and a component are within the array boundaries.
+     */
+    private void checkIndex(int index, int component) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (component < 0 || component >= stride) {
+            throw new IndexOutOfBoundsException("Component: " + component + ", Stride: " + stride);
+        }
+    }
+
+
+    /**
+     * @return The number of ints of every entry
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Returns the size of the array.
+     * @return The number of entries of the array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the array contains no entries.
+     * @return {@code true} if the array contains no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries the array can hold before its buffer grows.
+     * @return The capacity of the array
+     */
+    public int capacity() {
+        return ints().capacity() / stride;
+    }
+
+    /**
+     * Returns {@code true} if the array has been closed.
+     * @return {@code true} if the array has been closed
+     */
+    public boolean isClosed() {
+        return ints == null;
+    }
+
+    /**
+     * Grows the buffer, if needed, to hold at least the specified number of entries.
+     * 
+     * <p>Growing allocates a new buffer, copies the entries to it and frees the old one.
+     * @param minCapacity - The minimum capacity
+     * @throws IllegalArgumentException If the capacity doesn't fit a direct buffer
+     */
+    public void ensureCapacity(int minCapacity) {
+        IntBuffer current = ints();
+        if (minCapacity <= current.capacity() / stride) {
+            return;
+        }
+        int maxCapacity = MAX_INTS / stride;
+        if (minCapacity < 0 || minCapacity > maxCapacity) {
+            throw new IllegalArgumentException("Illegal capacity: " + minCapacity);
+        }
+        int capacity = current.capacity() / stride;
+        capacity = (int) Math.min(maxCapacity, Math.max((long) capacity*2, 16));
+        capacity = Math.max(capacity, minCapacity);
+
+        ByteBuffer buffer = allocate(capacity*stride);
+        IntBuffer result = buffer.asIntBuffer();
+        IntBuffer entries = current.duplicate();
+        entries.position(0).limit(size*stride);
+        result.put(entries);
+        ByteBuffer old = bytes;
+        bytes = buffer;
+        ints = result;
+        free(old);
+    }
+
+
+    /**
+     * Returns a component of an entry.
+     * @param index - The index of the entry
+     * @param component - The index of the int within the entry
+     * @return The component of the entry
+     * @throws IndexOutOfBoundsException If the entry or the component are outside the array boundaries
+     */
+    public int get(int index, int component) throws IndexOutOfBoundsException {
+        IntBuffer ints = ints();
+        checkIndex(index, component);
+        return ints.get(index*stride + component);
+    }
+
+    /**
+     * Modifies a component of an entry.
+     * @param index - The index of the entry
+     * @param component - The index of the int within the entry
+     * @param value - The value to set
+     * @throws IndexOutOfBoundsException If the entry or the component are outside the array boundaries
+     */
+    public void set(int index, int component, int value) throws IndexOutOfBoundsException {
+        IntBuffer ints = ints();
+        checkIndex(index, component);
+        ints.put(index*stride + component, value);
+    }
+
+    /**
+     * Returns an entry.
+     * @param index - The index of the entry
+     * @return A new array with the ints of the entry
+     * @throws IndexOutOfBoundsException If the entry is outside the array boundaries
+     */
+    public int[] get(int index) throws IndexOutOfBoundsException {
+        int[] entry = new int[stride];
+        copyTo(index, entry, 0, 1);
+        return entry;
+    }
+
+    /**
+     * Adds an entry after the last position in the array.
+     * @param entry - The ints of the entry, at least {@code stride} long
+     */
+    public void push(int... entry) {
+        pushAll(entry, 0, 1);
+    }
+
+    /**
+     * Removes the last entry of the array.
+     * @throws IndexOutOfBoundsException If the array is empty
+     */
+    public void pop() {
+        ints();
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Index: -1, Size: 0");
+        }
+        size--;
+    }
+
+    /**
+     * Removes all of the entries of the array, keeping its buffer.
+     */
+    public void clear() {
+        ints();
+        size = 0;
+    }
+
+
+    /**
+     * Adds entries after the last position in the array, copied from a heap array.
+     * @param source - The array to copy from
+     * @param offset - The position of the first int to copy on the source
+     * @param count - The number of entries to copy
+     * @throws IndexOutOfBoundsException If the source doesn't hold that many entries
+     */
+    public void pushAll(int[] source, int offset, int count) {
+        if (count < 0 || offset < 0 || (long) offset + (long) count*stride > source.length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", Count: " + count + ", Length: " + source.length);
+        }
+        ensureCapacity(size+count);
+        IntBuffer entries = ints.duplicate();
+        entries.position(size*stride);
+        entries.put(source, offset, count*stride);
+        size += count;
+    }
+
+    /**
+     * Copies entries of the array to a heap array.
+     * @param index - The index of the first entry to copy
+     * @param destination - The array to copy to
+     * @param offset - The position on the destination of the first int copied
+     * @param count - The number of entries to copy
+     * @throws IndexOutOfBoundsException If the entries are outside the array boundaries,
+     * or don't fit the destination
+     */
+    public void copyTo(int index, int[] destination, int offset, int count) {
+        IntBuffer ints = ints();
+        if (index < 0 || count < 0 || index > size - count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count + ", Size: " + size);
+        }
+        if (offset < 0 || (long) offset + (long) count*stride > destination.length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", Count: " + count + ", Length: " + destination.length);
+        }
+        IntBuffer entries = ints.duplicate();
+        entries.position(index*stride);
+        entries.get(destination, offset, count*stride);
+    }
+
+    /**
+     * Copies every entry of the array to a heap array.
+     * @return A new array with the ints of every entry, one after the other
+     */
+    public int[] toArray() {
+        int[] result = new int[size*stride];
+        copyTo(0, result, 0, size);
+        return result;
+    }
+
+
+    /**
+     * Closes the array, freeing the native memory of its buffer.
+     * 
+     * <p>Closing an array more than once has no effect.
+     */
+    @Override
+    public void close() {
+        ByteBuffer old = bytes;
+        bytes = null;
+        ints = null;
+        size = 0;
+        if (old != null) {
+            free(old);
+        }
+    }
+}
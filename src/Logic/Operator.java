@@ -1,11 +1,18 @@
 package src.logic;
 
+import java.util.Arrays;
+
 import src.exceptions.*;
 
 /**
  * The {@code Operator} class provides static methods
  * to perform light logic operations with Java int[] arrays. 
  * 
+ * <p>The element-wise operations are written as plain counted loops
+ * without branches or calls in their bodies, so the JIT compiler turns
+ * them into SIMD instructions on big arrays, and the chained operations
+ * are fused into a single pass instead of allocating intermediate arrays.
+ * 
  * @since JDK 1.11
  * @version 1.0
  * 
@@ -43,10 +50,8 @@ public class Operator {
      */
     public static int count(int[] array, int element) {
         int occurences = 0;
-        for (int i : array) {
-            if (i == element) {
-                occurences++;
-            }
+        for (int i = 0; i < array.length; i++) {
+            occurences += array[i] == element ? 1 : 0;
         }
         return occurences;
     }
@@ -91,11 +96,13 @@ public class Operator {
     public static int[] setSign(int[] array, boolean positive) {
         int size = array.length;
         int[] result = new int[size];
-        for (int i = 0; i < size; i++) {
-            if (array[i] < 0) {
-                result[i] = array[i]*(positive ? -1 : 1);
-            } else {
-                result[i] = array[i]*(positive ? 1 : -1);
+        if (positive) {
+            for (int i = 0; i < size; i++) {
+                result[i] = Math.abs(array[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                result[i] = -Math.abs(array[i]);
             }
         }
         return result;
@@ -131,18 +138,10 @@ public class Operator {
      * @return A boolean representing the equality of the arrays
      */
     public static boolean equals(int[] a1, int[] a2) {
-        int size = a1.length;
-        if (size != a2.length) {
+        if (a1.length != a2.length) {
             return false;
         }
-
-        boolean equals = true;
-        for (int i = 0; i < size && equals; i++) {
-            if (a1[i] != a2[i]) {
-                equals = false;
-            }
-        }
-        return equals;
+        return Arrays.equals(a1, a2);
     }
 
 
@@ -202,11 +201,9 @@ public class Operator {
         if (array.length < 1) {
             throw new InvalidArrayError("The array must not be empty");
         }
-        int min = Integer.MAX_VALUE;
-        for (int i : array) {
-            if (i <= min) {
-                min = i;
-            }
+        int min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            min = Math.min(min, array[i]);
         }
         return min;
     }
@@ -222,11 +219,9 @@ public class Operator {
         if (array.length < 1) {
             throw new InvalidArrayError("The array must not be empty");
         }
-        int max = Integer.MIN_VALUE;
-        for (int i : array) {
-            if (i >= max) {
-                max = i;
-            }
+        int max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            max = Math.max(max, array[i]);
         }
         return max;
     }
@@ -259,15 +254,13 @@ public class Operator {
      * @return The result of the addition
      */
     public static int[] sum(int[] a1, int[] a2) {
-        int size = a1.length >= a2.length ? a1.length : a2.length;
-        int[] result = new int[size];
-        for (int i = 0; i < size; i++) {
-            try {
-                result[i] = a1[i] + a2[i];
-            } catch(IndexOutOfBoundsException err) {
-                result[i] = a1.length >= a2.length ? a1[i] : a2[i];
-            }
+        int[] longer = a1.length >= a2.length ? a1 : a2;
+        int overlap = Math.min(a1.length, a2.length);
+        int[] result = new int[longer.length];
+        for (int i = 0; i < overlap; i++) {
+            result[i] = a1[i] + a2[i];
         }
+        System.arraycopy(longer, overlap, result, overlap, longer.length-overlap);
         return result;
     }
 
@@ -307,7 +300,9 @@ public class Operator {
 
         int[] result = new int[size];
         for (int[] array : arrays) {
-            result = sum(result, array);
+            for (int i = 0; i < array.length; i++) {
+                result[i] += array[i];
+            }
         }
         return result;
     }
@@ -352,7 +347,20 @@ public class Operator {
      * @return The result of the substraction
      */
     public static int[] substract(int[] a1, int[] a2) {
-        return sum(a1, negate(a2));
+        // The same as sum(a1, negate(a2)), without the negated copy
+        int overlap = Math.min(a1.length, a2.length);
+        int[] result = new int[Math.max(a1.length, a2.length)];
+        for (int i = 0; i < overlap; i++) {
+            result[i] = a1[i] - Math.abs(a2[i]);
+        }
+        if (a1.length >= a2.length) {
+            System.arraycopy(a1, overlap, result, overlap, a1.length-overlap);
+        } else {
+            for (int i = overlap; i < a2.length; i++) {
+                result[i] = -Math.abs(a2[i]);
+            }
+        }
+        return result;
     }
 
 
@@ -0,0 +1,614 @@
+package src.logic;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable array that shares its structure with the versions it was made from.
+ * 
+ * <p>The elements are stored on the leaves of a trie of 32-way nodes, except
+ * for the last, up to 32, which are kept apart on a tail. Modifying a vector
+ * returns a new version that only copies the path from the root to the
+ * modified leaf, {@code O(log32 n)} nodes, and shares every other node with
+ * the old version, which doesn't change. Adding and removing at the end
+ * usually only copies the tail. Keeping a version around is a snapshot that
+ * takes constant time, and any thread can read it.
+ * 
+ * <p>Many modifications in a row can be made on a {@link Transient Transient}
+ * vector, which modifies the nodes it has already copied in place, and then
+ * turned back into a persistent one.
+ * 
+ * @param <E> the type of elements in the vector
+ * 
+ * @since JDK 11.0
+ * @version 1.0
+ * 
+ * @see src.logic.DynamicArray DynamicArray
+ */
+public class PersistentVector<E> implements Iterable<E> {
+    /**
+     * The number of bits of an index that select a child on every level.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * The number of children of a node.
+     */
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * The root of the empty vectors.
+     */
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+    /**
+     * The empty vector.
+     */
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * The number of elements of the vector.
+     */
+    private final int size;
+
+    /**
+     * The number of bits the index is shifted by to select the child of the root.
+     */
+    private final int shift;
+
+    /**
+     * The root of the trie.
+     */
+    private final Node root;
+
+    /**
+     * The last elements of the vector, not on the trie yet.
+     */
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     * @return A vector with no elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Constructs a {@code PersistentVector} object from the specified array.
+     * @param array - The specified array to convert
+     * @return A {@code PersistentVector} object from the specified array
+     */
+    public static <E> PersistentVector<E> of(E[] array) {
+        Transient<E> result = PersistentVector.<E>empty().asTransient();
+        for (E element : array) {
+            result.push(element);
+        }
+        return result.persistent();
+    }
+
+    /**
+     * Constructs a {@code PersistentVector} object from the specified {@code DynamicArray}.
+     * @param array - The specified array to convert
+     * @return A {@code PersistentVector} object from the specified array
+     */
+    public static <E> PersistentVector<E> of(DynamicArray<E> array) {
+        Transient<E> result = PersistentVector.<E>empty().asTransient();
+        for (E element : array) {
+            result.push(element);
+        }
+        return result.persistent();
+    }
+
+    /**
+     * Copies the elements to a {@code DynamicArray}.
+     * @return A {@code DynamicArray} with the elements of the vector, in order
+     */
+    public DynamicArray<E> toDynamicArray() {
+        DynamicArray<E> result = new DynamicArray<>(size);
+        for (E element : this) {
+            result.push(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements of the vector.
+     * @return A new array with the elements of the vector, in order
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            System.arraycopy(leaf, 0, result, i, Math.min(WIDTH, size-i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the size of the vector.
+     * @return The size of the vector
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the vector contains no elements.
+     * @return {@code true} if the vector contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the index of the first element on the tail of a vector of the specified size.
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size-1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Checks if the index is within the vector boundaries.
+     */
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the leaf, or the tail, that holds an index.
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Returns the value of the specified index.
+     * @param index - The index to search
+     * @return The element from the specified index
+     * @throws IndexOutOfBoundsException If the index is outside the vector boundaries
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns a version of the vector with the specified index modified.
+     * @param index - The index to modify
+     * @param element - The element to set
+     * @return The new version of the vector
+     * @throws IndexOutOfBoundsException If the index is outside the vector boundaries
+     */
+    public PersistentVector<E> set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, set(null, shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a version of the vector with the specified element added after the last position.
+     * @param element - The element to add
+     * @return The new version of the vector
+     */
+    public PersistentVector<E> push(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length+1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size+1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size+1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Returns a version of the vector with the last index removed.
+     * @return The new version of the vector
+     * @throws IndexOutOfBoundsException If the vector is empty
+     */
+    public PersistentVector<E> pop() throws IndexOutOfBoundsException {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Index: -1, Size: 0");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size-1, shift, root, Arrays.copyOf(tail, tail.length-1));
+        }
+        Object[] newTail = leafFor(size-2);
+        Node newRoot = popTail(null, size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size-1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Returns a transient copy of the vector, for modifying it many times in a row.
+     * 
+     * <p>Making the transient copy takes constant time, and the vector doesn't change.
+     * @return A transient vector with the elements of the vector
+     */
+    public Transient<E> asTransient() {
+        return new Transient<>(this);
+    }
+
+
+    /**
+     * Returns a node that can be modified in place on the specified edit, copying it if needed.
+     */
+    private static Node editable(Edit edit, Node node) {
+        if (edit != null && node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    /**
+     * Returns a path of nodes from the specified level down to a leaf.
+     */
+    private static Node newPath(Edit edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node result = new Node(edit, new Object[WIDTH]);
+        result.array[0] = newPath(edit, level-BITS, node);
+        return result;
+    }
+
+    /**
+     * Adds a full tail to the trie of a vector of the specified size.
+     */
+    private static Node pushTail(Edit edit, int size, int level, Node parent, Node tailNode) {
+        int child = ((size-1) >>> level) & MASK;
+        Node result = editable(edit, parent);
+        Node inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Node node = (Node) parent.array[child];
+            inserted = node != null
+                ? pushTail(edit, size, level-BITS, node, tailNode)
+                : newPath(edit, level-BITS, tailNode);
+        }
+        result.array[child] = inserted;
+        return result;
+    }
+
+    /**
+     * Removes the last leaf from the trie of a vector of the specified size.
+     * @return The new node, {@code null} if it would be empty
+     */
+    private static Node popTail(Edit edit, int size, int level, Node node) {
+        int child = ((size-2) >>> level) & MASK;
+        if (level > BITS) {
+            Node newChild = popTail(edit, size, level-BITS, (Node) node.array[child]);
+            if (newChild == null && child == 0) {
+                return null;
+            }
+            Node result = editable(edit, node);
+            result.array[child] = newChild;
+            return result;
+        } else if (child == 0) {
+            return null;
+        }
+        Node result = editable(edit, node);
+        result.array[child] = null;
+        return result;
+    }
+
+    /**
+     * Modifies an index on the trie.
+     */
+    private static Node set(Edit edit, int level, Node node, int index, Object element) {
+        Node result = editable(edit, node);
+        if (level == 0) {
+            result.array[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            result.array[child] = set(edit, level-BITS, (Node) node.array[child], index, element);
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns an iterator over the elements in the vector.
+     * @return an iterator over the elements in the vector
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Implementation of the Iterable class, reading the vector a leaf at a time.
+     */
+    private class Itr implements Iterator<E> {
+        /**
+         * Index of the next element to return.
+         */
+        int cursor;
+
+        /**
+         * The leaf of the next element to return.
+         */
+        Object[] leaf;
+
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            if ((cursor & MASK) == 0 || leaf == null) {
+                leaf = leafFor(cursor);
+            }
+            return (E) leaf[cursor++ & MASK];
+        }
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static class Node {
+        /**
+         * The transient vector that can modify the node in place, if any.
+         */
+        final Edit edit;
+
+        /**
+         * The children of the node, or the elements if it is a leaf.
+         */
+        final Object[] array;
+
+        Node(Edit edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Marks the nodes a transient vector created, which it can modify in place until it is made persistent.
+     */
+    private static class Edit {
+        boolean open = true;
+    }
+
+
+    /**
+     * A vector that is modified in place, made from a {@code PersistentVector}.
+     * 
+     * <p>Modifying a transient vector copies every node the first time it
+     * modifies it, and then modifies it in place, so a batch of modifications
+     * costs far less than making a new version on each of them. Calling
+     * {@link #persistent() persistent} returns the result in constant time,
+     * after which the transient vector can't be used anymore. A transient
+     * vector must not be shared between threads.
+     */
+    public static class Transient<E> implements Iterable<E> {
+        /**
+         * The owner of the nodes that can be modified in place.
+         */
+        private final Edit edit = new Edit();
+
+        private int size;
+        private int shift;
+        private Node root;
+
+        /**
+         * The last elements of the vector, always {@code WIDTH} long.
+         */
+        private Object[] tail;
+
+        private Transient(PersistentVector<E> vector) {
+            size = vector.size;
+            shift = vector.shift;
+            root = editable(edit, vector.root);
+            tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        /**
+         * Checks the vector hasn't been made persistent yet.
+         */
+        private void checkEditable() {
+            if (!edit.open) {
+                throw new IllegalStateException("The vector is already persistent");
+            }
+        }
+
+        /**
+         * Returns the leaf, or the tail, that holds an index.
+         */
+        private Object[] leafFor(int index) {
+            if (index >= tailOffset(size)) {
+                return tail;
+            }
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+            return node.array;
+        }
+
+        /**
+         * Returns the size of the vector.
+         * @return The size of the vector
+         */
+        public int size() {
+            checkEditable();
+            return size;
+        }
+
+        /**
+         * Returns the value of the specified index.
+         * @param index - The index to search
+         * @return The element from the specified index
+         * @throws IndexOutOfBoundsException If the index is outside the vector boundaries
+         */
+        @SuppressWarnings("unchecked")
+        public E get(int index) throws IndexOutOfBoundsException {
+            checkEditable();
+            checkIndex(index, size);
+            return (E) leafFor(index)[index & MASK];
+        }
+
+        /**
+         * Modifies the value of the specified index.
+         * @param index - The index to modify
+         * @param element - The element to set
+         * @throws IndexOutOfBoundsException If the index is outside the vector boundaries
+         */
+        public void set(int index, E element) throws IndexOutOfBoundsException {
+            checkEditable();
+            checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = PersistentVector.set(edit, shift, root, index, element);
+            }
+        }
+
+        /**
+         * Adds an element after the last position in the vector.
+         * @param element - The element to add
+         */
+        public void push(E element) {
+            checkEditable();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = element;
+                size++;
+                return;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+        }
+
+        /**
+         * Removes the last index from the vector.
+         * @throws IndexOutOfBoundsException If the vector is empty
+         */
+        public void pop() throws IndexOutOfBoundsException {
+            checkEditable();
+            if (size == 0) {
+                throw new IndexOutOfBoundsException("Index: -1, Size: 0");
+            }
+            if (size == 1 || size - tailOffset(size) > 1) {
+                size--;
+                tail[size & MASK] = null;
+                return;
+            }
+            Object[] newTail = leafFor(size-2).clone();
+            Node newRoot = popTail(edit, size, shift, root);
+            if (newRoot == null) {
+                newRoot = new Node(edit, new Object[WIDTH]);
+            }
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = editable(edit, (Node) newRoot.array[0]);
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+        }
+
+        /**
+         * Returns the persistent vector with the elements of this one,
+         * after which this vector can't be used anymore.
+         * @return The persistent vector
+         */
+        public PersistentVector<E> persistent() {
+            checkEditable();
+            edit.open = false;
+            if (size == 0) {
+                return empty();
+            }
+            return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+        }
+
+        /**
+         * Returns an iterator over the elements in the vector.
+         * 
+         * <p>The vector can't be modified while it is iterated.
+         * @return an iterator over the elements in the vector
+         */
+        public Iterator<E> iterator() {
+            checkEditable();
+            return new Iterator<E>() {
+                int cursor;
+
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @SuppressWarnings("unchecked")
+                public E next() {
+                    if (cursor >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    int index = cursor++;
+                    return (E) leafFor(index)[index & MASK];
+                }
+            };
+        }
+    }
+}
@@ -3,11 +3,31 @@ package src.pathfinder;
 import src.logic.*;
 
 /**
- * The {@code A} class provides an example of the A* pathfinder algorithm.
+ * The {@code A} class provides an implementation of the A* pathfinder algorithm.
  * 
  * <p>The constructor takes a bidimensional array of characters and thorugh
  * the path method returns the shortest path to the target.
  * 
+ * <p>The search keeps its open set on a binary heap ordered by the cost
+ * so far plus the Manhattan distance to the target, and marks the visited
+ * cells on a flat array, so every step of the search is logarithmic
+ * instead of scanning the whole set.
+ * 
+ * <p>Cells are handled as flat {@code y*width+x} indices and the search state
+ * lives on a {@link src.pathfinder.SearchContext SearchContext} reused between
+ * calls, so reusing an instance through {@link #setBoard(char[][]) setBoard}
+ * only allocates the returned path. Paths can also be returned as packed
+ * cells through {@link #compactPath(Point, Point, int) compactPath}, cut
+ * to the steps the caller needs.
+ * 
+ * <p>On wide open boards the {@link Mode#JUMP_POINT JUMP_POINT} mode skips
+ * the straight lines between obstacles instead of expanding every cell on
+ * them, returning paths just as short. On corridors and mazes the
+ * {@link Mode#BIDIRECTIONAL BIDIRECTIONAL} mode searches from both ends
+ * instead of flooding the board from one of them, and the
+ * {@link Mode#AUTO AUTO} mode picks between searching from one or both
+ * ends from the obstacle density of the board.
+ * 
  * <p>The full-custom constructor defines what characters conform the BLANK
  * and OBSTACLE, providing a glimpse of customization.
  * 
@@ -15,8 +35,10 @@ import src.logic.*;
  * @version 1.0
  * 
  * @see src.pathfinder.Point Point
+ * @see src.pathfinder.OpenList OpenList
+ * @see src.pathfinder.SearchContext SearchContext
  */
-public class A {
+public class A implements Pathfinder {
 
     /**
      * A tile that a player can pass through.
@@ -29,20 +51,103 @@ public class A {
     private char OBSTACLE = '#';
 
 
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+
+    /**
+     * The search algorithms available through {@link #path(Point, Point) path}.
+     */
+    public enum Mode {
+        /**
+         * A* expanding every neighbor of every cell.
+         */
+        ASTAR,
+
+        /**
+         * Jump Point Search, skipping the straight lines of open boards.
+         */
+        JUMP_POINT,
+
+        /**
+         * Breadth-first search from both the start and the end, stopping
+         * where they meet, for corridors and mazes.
+         */
+        BIDIRECTIONAL,
+
+        /**
+         * {@link #BIDIRECTIONAL BIDIRECTIONAL} if the obstacle density of the board
+         * is at least {@link A#BIDIRECTIONAL_DENSITY BIDIRECTIONAL_DENSITY},
+         * {@link #ASTAR ASTAR} otherwise.
+         */
+        AUTO
+    }
+
+    /**
+     * The obstacle density from which the {@link Mode#AUTO AUTO} mode searches
+     * from both ends.
+     */
+    public static final double BIDIRECTIONAL_DENSITY = 0.3;
+
+
     /**
      * The bidimensional array character data.
      */
     private char[][] board;
 
     /**
-     * The avilable points on the board.
+     * The algorithm used to search the path.
+     */
+    private Mode mode = Mode.ASTAR;
+
+    /**
+     * The scratch state reused by every search.
+     */
+    private SearchContext context = new SearchContext();
+
+    /**
+     * The scratch state of the search from the end point.
+     */
+    private SearchContext reverse = new SearchContext();
+
+    /**
+     * The fraction of the board that isn't BLANK, {@code -1} until measured.
+     */
+    private double obstacleDensity = -1;
+
+    /**
+     * The scratch array the neighbors of a cell are written on.
+     */
+    private int[] neighbors = new int[DIRECTIONS_X.length];
+
+    /**
+     * The index the queries are checked against before searching, {@code null} if there is none.
      */
-    private DynamicArray<Point> openSet;
+    private Reachability reachability;
 
     /**
-     * The visited points on the board.
+     * The number of cells the current search may expand.
      */
-    private DynamicArray<Point> closedSet;
+    private int expansionBudget = Integer.MAX_VALUE;
+
+    /**
+     * The {@link System#nanoTime() nanoTime} the current search must stop at, {@code 0} if there is none.
+     */
+    private long deadline;
+
+    /**
+     * The reached cell closest to the end cell, and its distance to it.
+     */
+    private int closest;
+    private int closestDistance;
+
+    /**
+     * Whether the last path was cut short by its budget.
+     */
+    private boolean partial;
 
     
     /**
@@ -91,6 +196,84 @@ public class A {
      */
     public void setBoard(char[][] board) {
         this.board = board;
+        obstacleDensity = -1;
+    }
+
+    /**
+     * Returns the number of cells expanded by the last search.
+     * @return The number of cells expanded by the last search
+     */
+    public int getExpanded() {
+        return context.getExpanded() + reverse.getExpanded();
+    }
+
+    /**
+     * Returns {@code true} if the last path was cut short by its budget.
+     *
+     * <p>A partial path doesn't reach the end point, it ends at the expanded
+     * cell closest to it.
+     * @return {@code true} if the last path is partial
+     * @see #path(Point, Point, int, long) path
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Returns the fraction of the board that isn't BLANK.
+     *
+     * <p>It is measured the first time it is needed after the board is set.
+     * @return The obstacle density of the board, between 0 and 1
+     */
+    public double getObstacleDensity() {
+        if (obstacleDensity < 0) {
+            int obstacles = 0;
+            for (char[] row : board) {
+                for (char tile : row) {
+                    if (tile != BLANK) {
+                        obstacles++;
+                    }
+                }
+            }
+            obstacleDensity = (double) obstacles / (board.length*board[0].length);
+        }
+        return obstacleDensity;
+    }
+
+    /**
+     * Returns the reachability index of the board.
+     * @return The reachability index, {@code null} if there is none
+     */
+    public Reachability getReachability() {
+        return reachability;
+    }
+
+    /**
+     * Sets the reachability index of the board.
+     *
+     * <p>With an index, the queries whose start and end points are on different
+     * components return {@code null} without searching. The index must be kept
+     * up to date with the board by its owner.
+     * @param reachability - The index to set, {@code null} to always search
+     */
+    public void setReachability(Reachability reachability) {
+        this.reachability = reachability;
+    }
+
+    /**
+     * Returns the search algorithm.
+     * @return The search algorithm
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the search algorithm.
+     * @param mode - The algorithm to set
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
     }
 
 
@@ -117,106 +300,511 @@ public class A {
 
     /**
      * Returns wether a coordinate is walkable or not.
-     * @param point - The coordinate to check
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
      * @return True if the coordinate is walkable, false otherwise
      */
-    private boolean isWalkable(Point point) {
-        int[] coordinate = point.coordinate;
-        if (coordinate[0] < 0 || coordinate[0] > board[0].length-1) return false;
-        if (coordinate[1] < 0 || coordinate[1] > board.length-1) return false;
-        if (board[coordinate[1]][coordinate[0]] != BLANK) return false;
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
         return true;
     }
 
 
     /**
-     * Returns the neighbors of the specified coordinate.
-     * @param point - The given coordinate
-     * @return An array consisting of the neighbors of the coordinate
+     * Writes the walkable neighbors of the specified cell on the array.
+     * @param cell - The given cell
+     * @param neighbors - The array to write the neighbors on, at least 4 long
+     * @return The number of neighbors written
      */
-    private DynamicArray<Point> findNeighbors(Point point) {
-        DynamicArray<Point> neighbors = new DynamicArray<>();
-        int[][] directions = {
-            {0, -1},
-            {0, 1},
-            {-1, 0},
-            {1, 0}
-        };
-        for (int[] vector : directions) {
-            int[] adjacentCoord = Operator.sum(point.coordinate, vector);
-            Point adjacent = new Point(adjacentCoord, point);
-            if (isWalkable(adjacent)) {
-                neighbors.push(adjacent);
+    private int findNeighbors(int cell, int[] neighbors) {
+        int width = board[0].length;
+        int x = cell % width;
+        int y = cell / width;
+        int count = 0;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (isWalkable(adjacentX, adjacentY)) {
+                neighbors[count++] = adjacentY*width + adjacentX;
             }
         }
-        return neighbors;
+        return count;
     }
 
 
     /**
-     * Generates the openSet array of the points on the board.
-     * @return The openSet array of the board
+     * Returns the flat index of a coordinate on the board.
+     * @param coordinate - The coordinate to convert
+     * @return The {@code y*width+x} index of the coordinate
      */
-    private DynamicArray<Point> generateOpenSet() {
-        DynamicArray<Point> openSet = new DynamicArray<>();
-        for (int i = 0; i < closedSet.size(); ++i) {
-            Point point = closedSet.get(i);
-            for (Point neighbor : findNeighbors(point)) {
-                if (!closedSet.contains(neighbor) && !openSet.contains(neighbor)) {
-                    openSet.push(neighbor);
-                }
+    private int toCell(int[] coordinate) {
+        return coordinate[1]*board[0].length + coordinate[0];
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells, the exact cost
+     * of the shortest path on an empty board when moving in the four
+     * directions of {@link #findNeighbors(int, int[]) findNeighbors}.
+     * @param a - The first cell
+     * @param b - The second cell
+     * @return The Manhattan distance between the cells
+     */
+    private int heuristic(int a, int b) {
+        int width = board[0].length;
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+
+    /**
+     * Writes the cells of the path from the parent chain of the end cell on the scratch buffer.
+     *
+     * <p>A cell and its parent may be more than one move apart, as long
+     * as they are on the same row or column, the cells between them are
+     * filled in.
+     * @param startCell - The cell the path starts at
+     * @param end - The cell the path ends at
+     * @return The number of cells of the path
+     */
+    private int fillPath(int startCell, int end) {
+        int width = board[0].length;
+        int length = 0;
+        for (int cell = end; cell != startCell; cell = context.getParent(cell)) {
+            length += heuristic(cell, context.getParent(cell));
+        }
+        int[] cells = context.getBuffer(length);
+        int i = length-1;
+        for (int cell = end; cell != startCell; cell = context.getParent(cell)) {
+            int parent = context.getParent(cell);
+            int step = cell/width == parent/width ? 1 : width;
+            if (cell > parent) {
+                step = -step;
+            }
+            for (int between = cell; between != parent; between += step) {
+                cells[i--] = between;
             }
         }
-        return openSet;
+        return length;
     }
 
-
     /**
-     * Generates the array path from the point chain.
+     * Generates the array path from the parent chain of the end cell.
+     * @param start - The start point
+     * @param end - The cell the path ends at
      * @return The generated path
      */
-    private DynamicArray<Point> generatePath() {
-        DynamicArray<Point> path = new DynamicArray<>();
-        Point point = closedSet.get(closedSet.size()-1);
-        while (point.previous != null) {
-            path.push(0, point);
-            point = point.previous;
+    private DynamicArray<Point> generatePath(Point start, int end) {
+        int width = board[0].length;
+        int length = fillPath(toCell(start.coordinate), end);
+        int[] cells = context.getBuffer(length);
+        DynamicArray<Point> path = new DynamicArray<>(length);
+        Point previous = start;
+        for (int i = 0; i < length; i++) {
+            Point point = new Point(new int[]{cells[i] % width, cells[i] / width}, previous);
+            path.push(point);
+            previous = point;
         }
         return path;
     }
-    
 
     /**
      * Returns the shortest path from the start point to the end point.
+     *
+     * <p>The path doesn't include the start point and ends at the end point,
+     * every point is linked to the one before it through {@code previous}.
+     * The path is searched with the algorithm set by {@link #setMode(Mode) setMode}.
      * @param start - The start point
      * @param end - The end point
-     * @return The shortest path from the start point to the end point
+     * @return The shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
      */
+    @Override
     public DynamicArray<Point> path(Point start, Point end) {
-        boolean finished = false;
-        closedSet = new DynamicArray<>();
-        closedSet.push(start);
-        while(!finished) {
-            openSet = generateOpenSet();
-
-            for (int i = 0; i < openSet.size() && !finished; i++) {
-                Point point = openSet.get(i);
-                if (!closedSet.contains(point)) {
-                    closedSet.push(point);
+        return path(start, end, 0, 0);
+    }
+
+    /**
+     * Returns the shortest path from the start point to the end point,
+     * searching within a budget.
+     *
+     * <p>If the budget runs out before the end point is reached, the path to
+     * the reached cell closest to the end point is returned instead, and
+     * {@link #isPartial() isPartial} returns {@code true} until the next search.
+     * A player following it still moves towards the end point.
+     * @param start - The start point
+     * @param end - The end point
+     * @param expansions - The number of cells the search may expand, {@code 0} for no limit.
+     * Even a single expansion reaches the neighbors of the start point
+     * @param nanos - The nanoseconds the search may take, {@code 0} for no limit
+     * @return The shortest path from the start point to the end point, a partial
+     * path if the budget ran out, or {@code null} if the end point can't be reached
+     */
+    public DynamicArray<Point> path(Point start, Point end, int expansions, long nanos) {
+        int target = search(start, end, expansions, nanos);
+        if (target < 0) {
+            return null;
+        }
+        return target == toCell(start.coordinate) ? new DynamicArray<>() : generatePath(start, target);
+    }
+
+    /**
+     * Returns the shortest path from the start point to the end point as packed cells.
+     * @param start - The start point
+     * @param end - The end point
+     * @return The shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     * @see #path(Point, Point) path
+     */
+    public Path compactPath(Point start, Point end) {
+        return compactPath(start, end, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first steps of the shortest path from the start point to the end point as packed cells.
+     *
+     * <p>The whole path is still searched, but only the requested steps are
+     * copied out, which is all a player moving a few cells per turn reads.
+     * @param start - The start point
+     * @param end - The end point
+     * @param steps - The maximum number of steps to return
+     * @return The first steps of the shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     */
+    public Path compactPath(Point start, Point end, int steps) {
+        int target = search(start, end, 0, 0);
+        if (target < 0) {
+            return null;
+        }
+        int startCell = toCell(start.coordinate);
+        int length = target == startCell ? 0 : fillPath(startCell, target);
+        int[] cells = new int[Math.min(Math.max(steps, 0), length)];
+        System.arraycopy(context.getBuffer(length), 0, cells, 0, cells.length);
+        return new Path(cells, board[0].length);
+    }
+
+    /**
+     * Searches the end cell within a budget with the algorithm set by {@link #setMode(Mode) setMode}.
+     * @param start - The start point
+     * @param end - The end point
+     * @param expansions - The number of cells the search may expand, {@code 0} for no limit
+     * @param nanos - The nanoseconds the search may take, {@code 0} for no limit
+     * @return The cell the path ends at, the closest to the end cell if the
+     * budget ran out, or {@code -1} if the end cell can't be reached
+     */
+    private int search(Point start, Point end, int expansions, long nanos) {
+        int startCell = toCell(start.coordinate);
+        int endCell = toCell(end.coordinate);
+        context.reset(board.length*board[0].length);
+        reverse.reset(0);
+        partial = false;
+        if (startCell == endCell) {
+            return startCell;
+        }
+        if (reachability != null && !reachability.isConnected(start.coordinate, end.coordinate)) {
+            return -1;
+        }
+
+        expansionBudget = expansions > 0 ? expansions : Integer.MAX_VALUE;
+        deadline = nanos > 0 ? System.nanoTime() + nanos : 0;
+        closest = startCell;
+        closestDistance = heuristic(startCell, endCell);
+        boolean found;
+        switch (mode) {
+            case JUMP_POINT:
+                found = jumpPointSearch(startCell, endCell);
+                break;
+            case BIDIRECTIONAL:
+                found = bidirectionalSearch(startCell, endCell);
+                break;
+            case AUTO:
+                if (getObstacleDensity() >= BIDIRECTIONAL_DENSITY) {
+                    found = bidirectionalSearch(startCell, endCell);
+                } else {
+                    found = aStarSearch(startCell, endCell);
                 }
+                break;
+            default:
+                found = aStarSearch(startCell, endCell);
+                break;
+        }
+        if (found) {
+            return endCell;
+        }
+        return partial ? closest : -1;
+    }
 
-                if (end.equals(point)) {
-                    finished = true;
+
+    /**
+     * Keeps the cell if it is the closest to the end cell reached so far.
+     * @param cell - The reached cell
+     * @param endCell - The cell to reach
+     */
+    private void track(int cell, int endCell) {
+        int distance = heuristic(cell, endCell);
+        if (distance < closestDistance) {
+            closest = cell;
+            closestDistance = distance;
+        }
+    }
+
+    /**
+     * Returns {@code false}, marking the search as partial, once the budget has run out.
+     *
+     * <p>It is checked after the neighbors of a cell have been reached, so
+     * every expansion the budget pays for moves the closest cell forward.
+     * @return {@code true} if the search may keep expanding cells
+     */
+    private boolean withinBudget() {
+        int expanded = context.getExpanded() + reverse.getExpanded();
+        if (expanded >= expansionBudget
+            || (deadline != 0 && (expanded & 15) == 0 && System.nanoTime() - deadline >= 0)) {
+            partial = true;
+            return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Searches the end cell expanding every neighbor of every cell.
+     * @param startCell - The cell to start from
+     * @param endCell - The cell to reach
+     * @return {@code true} if the end cell has been reached
+     */
+    private boolean aStarSearch(int startCell, int endCell) {
+        OpenList openList = context.getOpenList();
+        context.visit(startCell, 0, startCell);
+        openList.push(startCell, heuristic(startCell, endCell), 0);
+        while (!openList.isEmpty()) {
+            int cell = openList.poll();
+            if (cell == endCell) {
+                return true;
+            }
+            context.close(cell);
+
+            int g = context.getCost(cell) + 1;
+            int count = findNeighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (context.isClosed(neighbor) || g >= context.getCost(neighbor)) {
+                    continue;
+                }
+                context.visit(neighbor, g, cell);
+                track(neighbor, endCell);
+                int h = heuristic(neighbor, endCell);
+                openList.push(neighbor, g+h, h);
+            }
+            if (!withinBudget()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Searches the end cell with two breadth-first searches, one from each end.
+     *
+     * <p>The smallest frontier is expanded a whole layer at a time, and the
+     * search stops after the first layer where both frontiers meet, keeping
+     * the shortest of the meetings. The cells from the meeting to the end
+     * are then chained on the forward search, so the path is generated
+     * as for any other mode.
+     * @param startCell - The cell to start from
+     * @param endCell - The cell to reach
+     * @return {@code true} if the end cell has been reached
+     */
+    private boolean bidirectionalSearch(int startCell, int endCell) {
+        int width = board[0].length;
+        if (!isWalkable(endCell % width, endCell / width)) {
+            return false;
+        }
+        int size = board.length*width;
+        reverse.reset(size);
+        int[] forwardQueue = context.getBuffer(size);
+        int[] backwardQueue = reverse.getBuffer(size);
+        int forwardHead = 0;
+        int forwardTail = 0;
+        int backwardHead = 0;
+        int backwardTail = 0;
+        context.visit(startCell, 0, startCell);
+        forwardQueue[forwardTail++] = startCell;
+        reverse.visit(endCell, 0, endCell);
+        backwardQueue[backwardTail++] = endCell;
+
+        int best = Integer.MAX_VALUE;
+        int meetForward = -1;
+        int meetBackward = -1;
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                int layerEnd = forwardTail;
+                while (forwardHead < layerEnd) {
+                    int cell = forwardQueue[forwardHead++];
+                    context.close(cell);
+                    int g = context.getCost(cell) + 1;
+                    int count = findNeighbors(cell, neighbors);
+                    for (int i = 0; i < count; i++) {
+                        int neighbor = neighbors[i];
+                        if (reverse.isVisited(neighbor) && g + reverse.getCost(neighbor) < best) {
+                            best = g + reverse.getCost(neighbor);
+                            meetForward = cell;
+                            meetBackward = neighbor;
+                        }
+                        if (!context.isVisited(neighbor)) {
+                            context.visit(neighbor, g, cell);
+                            track(neighbor, endCell);
+                            forwardQueue[forwardTail++] = neighbor;
+                        }
+                    }
+                    if (!withinBudget()) {
+                        return false;
+                    }
+                }
+            } else {
+                int layerEnd = backwardTail;
+                while (backwardHead < layerEnd) {
+                    int cell = backwardQueue[backwardHead++];
+                    reverse.close(cell);
+                    int g = reverse.getCost(cell) + 1;
+                    if (heuristic(cell, startCell) == 1 && g < best) {
+                        best = g;
+                        meetForward = startCell;
+                        meetBackward = cell;
+                    }
+                    int count = findNeighbors(cell, neighbors);
+                    for (int i = 0; i < count; i++) {
+                        int neighbor = neighbors[i];
+                        if (context.isVisited(neighbor) && g + context.getCost(neighbor) < best) {
+                            best = g + context.getCost(neighbor);
+                            meetForward = neighbor;
+                            meetBackward = cell;
+                        }
+                        if (!reverse.isVisited(neighbor)) {
+                            reverse.visit(neighbor, g, cell);
+                            backwardQueue[backwardTail++] = neighbor;
+                        }
+                    }
+                    if (!withinBudget()) {
+                        return false;
+                    }
                 }
             }
 
-            if (!finished && openSet.size() == 0) {
-                return null;
+            if (best < Integer.MAX_VALUE) {
+                int previous = meetForward;
+                for (int cell = meetBackward; previous != endCell; cell = reverse.getParent(cell)) {
+                    context.visit(cell, 0, previous);
+                    previous = cell;
+                }
+                return true;
             }
         }
+        return false;
+    }
 
-        
-        return generatePath();
+
+    /**
+     * Searches the end cell expanding only the jump points of the board.
+     *
+     * <p>Paths are kept in a canonical order where vertical moves may turn
+     * horizontal at any cell, but horizontal moves only turn vertical when
+     * an obstacle behind them forces it. Every other cell of a straight line
+     * is skipped without being pushed to the open list.
+     * @param startCell - The cell to start from
+     * @param endCell - The cell to reach
+     * @return {@code true} if the end cell has been reached
+     */
+    private boolean jumpPointSearch(int startCell, int endCell) {
+        OpenList openList = context.getOpenList();
+        int width = board[0].length;
+        context.visit(startCell, 0, startCell);
+        openList.push(startCell, heuristic(startCell, endCell), 0);
+        while (!openList.isEmpty()) {
+            int cell = openList.poll();
+            if (cell == endCell) {
+                return true;
+            }
+            context.close(cell);
+
+            int x = cell % width;
+            int y = cell / width;
+            int parent = context.getParent(cell);
+            int count = 0;
+            if (parent == cell) {
+                for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                    neighbors[count++] = jump(x, y, DIRECTIONS_X[i], DIRECTIONS_Y[i], endCell);
+                }
+            } else if (parent / width == y) {
+                int dx = x > parent % width ? 1 : -1;
+                neighbors[count++] = jump(x, y, dx, 0, endCell);
+                for (int dy = -1; dy <= 1; dy += 2) {
+                    if (isWalkable(x, y+dy) && !isWalkable(x-dx, y+dy)) {
+                        neighbors[count++] = jump(x, y, 0, dy, endCell);
+                    }
+                }
+            } else {
+                int dy = y > parent / width ? 1 : -1;
+                neighbors[count++] = jump(x, y, 0, dy, endCell);
+                neighbors[count++] = jump(x, y, -1, 0, endCell);
+                neighbors[count++] = jump(x, y, 1, 0, endCell);
+            }
+
+            for (int i = 0; i < count; i++) {
+                int jumpPoint = neighbors[i];
+                if (jumpPoint < 0 || context.isClosed(jumpPoint)) {
+                    continue;
+                }
+                int g = context.getCost(cell) + heuristic(cell, jumpPoint);
+                if (g >= context.getCost(jumpPoint)) {
+                    continue;
+                }
+                context.visit(jumpPoint, g, cell);
+                track(jumpPoint, endCell);
+                int h = heuristic(jumpPoint, endCell);
+                openList.push(jumpPoint, g+h, h);
+            }
+            if (!withinBudget()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves from a coordinate in a straight line until a jump point is found.
+     *
+     * <p>A cell is a jump point if it is the end cell, if it has a neighbor
+     * that can only be reached optimally through it, or, when moving
+     * vertically, if a horizontal jump from it finds a jump point.
+     * @param x - The x coordinate to move from
+     * @param y - The y coordinate to move from
+     * @param dx - The horizontal direction, {@code -1}, {@code 0} or {@code 1}
+     * @param dy - The vertical direction, {@code -1}, {@code 0} or {@code 1}
+     * @param endCell - The cell to reach
+     * @return The cell of the jump point, or {@code -1} if an obstacle is found first
+     */
+    private int jump(int x, int y, int dx, int dy, int endCell) {
+        int width = board[0].length;
+        while (true) {
+            x += dx;
+            y += dy;
+            if (!isWalkable(x, y)) {
+                return -1;
+            }
+            int cell = y*width + x;
+            if (cell == endCell) {
+                return cell;
+            }
+            if (dx != 0) {
+                if ((isWalkable(x, y-1) && !isWalkable(x-dx, y-1))
+                    || (isWalkable(x, y+1) && !isWalkable(x-dx, y+1))) {
+                    return cell;
+                }
+            } else if (jump(x, y, -1, 0, endCell) >= 0 || jump(x, y, 1, 0, endCell) >= 0) {
+                return cell;
+            }
+        }
     }
 
 }
@@ -0,0 +1,337 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+import src.logic.*;
+
+/**
+ * The {@code CooperativePlanner} class plans the moves of a pack of players
+ * chasing the same target so that none of them collide, following the
+ * Windowed Hierarchical Cooperative A* algorithm.
+ *
+ * <p>The players are planned one after the other, the closest to the target
+ * first. Every player searches over space and time for the next
+ * {@link #getWindow() window} moves, waiting in place being a move too,
+ * and reserves the cells it will be on at every move of the window. The
+ * players planned afterwards avoid the reserved cells, as well as swapping
+ * cells with another player between two moves. The distances of a
+ * {@link src.pathfinder.FlowField FlowField} towards the target, which
+ * ignore the other players, guide every search.
+ *
+ * <p>The target tile itself is never entered, the players stop next to it.
+ * The board is expected to hold the players being planned as BLANK tiles,
+ * any other tile that isn't BLANK is an obstacle.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.FlowField FlowField
+ * @see src.pathfinder.SearchContext SearchContext
+ */
+public class CooperativePlanner {
+
+    /**
+     * The number of moves planned when no window is specified.
+     */
+    public static final int DEFAULT_WINDOW = 8;
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT,
+     * and waiting in place.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1, 0};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0, 0};
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The bidimensional array character data.
+     */
+    private char[][] board;
+
+    /**
+     * The number of moves planned for every player.
+     */
+    private final int window;
+
+    /**
+     * The distances to the target.
+     */
+    private FlowField flowField;
+
+    /**
+     * The player that reserved every {@code time*size+cell} state.
+     */
+    private int[] occupant = new int[0];
+
+    /**
+     * The generation each state was last reserved on.
+     */
+    private int[] reserved = new int[0];
+    private int generation;
+
+    /**
+     * The scratch state of the space-time searches.
+     */
+    private SearchContext context = new SearchContext();
+
+    /**
+     * A scratch coordinate for reading the flow field.
+     */
+    private int[] coordinate = new int[2];
+
+
+    /**
+     * Constructs a planner over the specified board with the default window.
+     * @param board - The board to construct
+     */
+    public CooperativePlanner(char[][] board) {
+        this(board, DEFAULT_WINDOW, ' ');
+    }
+
+    /**
+     * Constructs a full-custom planner over the specified board.
+     * @param board - The board to construct
+     * @param window - The number of moves planned for every player
+     * @param BLANK - A BLANK tile
+     * @throws IllegalArgumentException If the window is less than 1
+     */
+    public CooperativePlanner(char[][] board, int window, char BLANK) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Illegal window: " + window);
+        }
+        this.board = board;
+        this.window = window;
+        this.BLANK = BLANK;
+        flowField = new FlowField(board, BLANK);
+    }
+
+
+    /**
+     * Returns the board array.
+     * @return The board array
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board array.
+     * @param board - The array to set
+     */
+    public void setBoard(char[][] board) {
+        this.board = board;
+        flowField.setBoard(board);
+    }
+
+    /**
+     * Returns the number of moves planned for every player.
+     * @return The window of the planner
+     */
+    public int getWindow() {
+        return window;
+    }
+
+
+    /**
+     * Returns wether a coordinate is walkable or not.
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return True if the coordinate is walkable, false otherwise
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+    /**
+     * Returns the moves from a cell to a cell next to the target, ignoring the other players.
+     */
+    private int distance(int cell) {
+        int width = board[0].length;
+        coordinate[0] = cell % width;
+        coordinate[1] = cell / width;
+        int distance = flowField.getDistance(coordinate);
+        return distance == FlowField.UNREACHABLE ? FlowField.UNREACHABLE : distance-1;
+    }
+
+    /**
+     * Returns the player that reserved a state, {@code -1} if it is free.
+     */
+    private int getOccupant(int state) {
+        return reserved[state] == generation ? occupant[state] : -1;
+    }
+
+    /**
+     * Reserves a state for a player.
+     */
+    private void reserve(int state, int player) {
+        occupant[state] = player;
+        reserved[state] = generation;
+    }
+
+
+    /**
+     * Plans the next moves of every player towards the target.
+     *
+     * <p>Every path starts after the start point of its player and holds one
+     * point per move, a point equal to the one before it meaning the player
+     * waits. A path ends early once its player is next to the target, and is
+     * empty if the player can't get any closer to it. The paths must be
+     * followed one move at a time, every player taking its first move before
+     * any player takes its second one.
+     *
+     * <p>A player is only guaranteed to keep its cell for the first move
+     * while the players before it are planned, so in crowded spots a player
+     * left with no move at all may still be run into by one planned earlier.
+     * @param starts - The start points of the players
+     * @param target - The point the players chase
+     * @return The paths of the players, in the order of the start points
+     */
+    public DynamicArray<DynamicArray<Point>> plan(DynamicArray<Point> starts, Point target) {
+        int width = board[0].length;
+        int size = board.length*width;
+        int states = size*(window+1);
+        if (occupant.length != states) {
+            occupant = new int[states];
+            reserved = new int[states];
+            generation = 0;
+        }
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(reserved, 0);
+            generation = 1;
+        }
+        flowField.update(target.coordinate);
+
+        // The closest players are planned first, the rest hold their cells for the first move.
+        // The players that can't reach the target never move, so they hold them for the whole window
+        int players = starts.size();
+        long[] order = new long[players];
+        for (int i = 0; i < players; i++) {
+            int cell = starts.get(i).coordinate[1]*width + starts.get(i).coordinate[0];
+            int distance = distance(cell);
+            order[i] = ((long) (distance == FlowField.UNREACHABLE ? Integer.MAX_VALUE : distance) << 32) | i;
+            int holding = distance == FlowField.UNREACHABLE ? window : 1;
+            for (int time = 0; time <= holding; time++) {
+                reserve(time*size + cell, i);
+            }
+        }
+        Arrays.sort(order);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        DynamicArray<Point>[] paths = new DynamicArray[players];
+        for (long key : order) {
+            int player = (int) key;
+            paths[player] = search(starts.get(player), target, player);
+        }
+        return DynamicArray.of(paths);
+    }
+
+    /**
+     * Searches the moves of a player over space and time, and reserves them.
+     * @param start - The start point of the player
+     * @param target - The point the player chases
+     * @param player - The index of the player
+     * @return The path of the player
+     */
+    private DynamicArray<Point> search(Point start, Point target, int player) {
+        int width = board[0].length;
+        int size = board.length*width;
+        int startCell = start.coordinate[1]*width + start.coordinate[0];
+        int targetCell = target.coordinate[1]*width + target.coordinate[0];
+        int startDistance = distance(startCell);
+        if (getOccupant(size + startCell) == player) {
+            reserved[size + startCell] = 0;
+        }
+
+        int end = -1;
+        if (startDistance != FlowField.UNREACHABLE) {
+            context.reset(size*(window+1));
+            OpenList openList = context.getOpenList();
+            context.visit(startCell, 0, startCell);
+            openList.push(startCell, startDistance, startDistance);
+            while (!openList.isEmpty()) {
+                int state = openList.poll();
+                int time = state / size;
+                int cell = state % size;
+                if (time == window || (distance(cell) == 0 && isFree(cell, time, player))) {
+                    end = state;
+                    break;
+                }
+                context.close(state);
+
+                int x = cell % width;
+                int y = cell / width;
+                for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                    int adjacentX = x + DIRECTIONS_X[i];
+                    int adjacentY = y + DIRECTIONS_Y[i];
+                    int adjacent = adjacentY*width + adjacentX;
+                    if (!isWalkable(adjacentX, adjacentY) || adjacent == targetCell) {
+                        continue;
+                    }
+                    int distance = distance(adjacent);
+                    int next = (time+1)*size + adjacent;
+                    if (distance == FlowField.UNREACHABLE || context.isClosed(next) || context.isVisited(next)) {
+                        continue;
+                    }
+                    int blocking = getOccupant(next);
+                    if (blocking >= 0 && blocking != player) {
+                        continue;
+                    }
+                    // Two players can't swap their cells between two moves
+                    int swapping = getOccupant(time*size + adjacent);
+                    if (swapping >= 0 && swapping != player && getOccupant((time+1)*size + cell) == swapping) {
+                        continue;
+                    }
+                    context.visit(next, time+1, state);
+                    openList.push(next, time+1 + distance, distance);
+                }
+            }
+        }
+
+        DynamicArray<Point> path = new DynamicArray<>();
+        // No move was found, or none is needed
+        if (end < size) {
+            for (int time = 0; time <= window; time++) {
+                reserve(time*size + startCell, player);
+            }
+            return path;
+        }
+        int length = end / size;
+        int[] cells = context.getBuffer(length);
+        for (int state = end; state / size > 0; state = context.getParent(state)) {
+            cells[state / size - 1] = state % size;
+        }
+        reserve(startCell, player);
+        for (int time = 1; time <= window; time++) {
+            reserve(time*size + cells[Math.min(time, length)-1], player);
+        }
+
+        Point previous = start;
+        for (int i = 0; i < length; i++) {
+            previous = new Point(new int[]{cells[i] % width, cells[i] / width}, previous);
+            path.push(previous);
+        }
+        return path;
+    }
+
+    /**
+     * Returns {@code true} if a player can stay on a cell from the specified move to the end of the window.
+     */
+    private boolean isFree(int cell, int time, int player) {
+        int size = board.length*board[0].length;
+        for (; time <= window; time++) {
+            int blocking = getOccupant(time*size + cell);
+            if (blocking >= 0 && blocking != player) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,476 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+import src.logic.*;
+
+/**
+ * The {@code DStarLite} class provides an implementation of the D* Lite
+ * incremental pathfinder algorithm.
+ *
+ * <p>The search runs backwards from the end point and its state is kept
+ * between calls to {@link #path(Point, Point) path}. When the start point
+ * moves, or tiles are reported through {@link #tileChanged(int[]) tileChanged},
+ * only the cells whose distance to the end point changed are searched again.
+ * It is meant to be kept by a single chaser for as long as it chases.
+ *
+ * <p>The end point may move too, following the Moving Target D* Lite
+ * algorithm. Every searched cell points to the neighbor its distance
+ * comes from, so the searched cells form a tree rooted at the end point.
+ * When the end point moves to a cell of that tree, the branch under the
+ * new end point is kept, only the rest of the cells are reset, and the
+ * search is repaired from there. An end point moving outside the tree
+ * starts a new search.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.OpenList OpenList
+ */
+public class DStarLite implements Pathfinder {
+
+    /**
+     * The distance of the cells that can't reach the end point.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE/4;
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The bidimensional array character data.
+     */
+    private char[][] board;
+
+    /**
+     * The distance from every cell to the end cell, as last expanded.
+     */
+    private int[] gScore = new int[0];
+
+    /**
+     * The distance from every cell to the end cell, looking one move ahead.
+     */
+    private int[] rhsScore = new int[0];
+
+    /**
+     * The neighbor each cell takes its distance from, {@code -1} if none.
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * The generation each cell was last initialized on, the cells
+     * of older generations are at {@link #INFINITY}.
+     */
+    private int[] initialized = new int[0];
+    private int generation;
+
+    /**
+     * The cells initialized on the current generation.
+     */
+    private int[] touched = new int[0];
+    private int touchedCount;
+
+    /**
+     * Wether every cell is on the branch of the new end point, when it moves.
+     * The marks are valid on the current {@link #markStamp} only.
+     */
+    private int[] marked = new int[0];
+    private boolean[] onBranch = new boolean[0];
+    private int markStamp;
+
+    /**
+     * A scratch stack of cells.
+     */
+    private int[] stack = new int[0];
+
+    /**
+     * The inconsistent cells, ordered by their D* Lite key.
+     */
+    private OpenList openList = new OpenList(0);
+
+    /**
+     * The cell the search is rooted at, {@code -1} if there is no search yet.
+     */
+    private int endCell = -1;
+
+    /**
+     * The start cell of the last search.
+     */
+    private int lastStart;
+
+    /**
+     * The accumulated heuristic offset of the start moves.
+     */
+    private int keyModifier;
+
+
+    /**
+     * Constructs an incremental pathfinder over the specified board.
+     * @param board - The board to construct
+     */
+    public DStarLite(char[][] board) {
+        this.board = board;
+    }
+
+    /**
+     * Constructs an incremental pathfinder over the specified board, and the customizable BLANK tile.
+     * @param board - The board to construct
+     * @param BLANK - A BLANK tile
+     */
+    public DStarLite(char[][] board, char BLANK) {
+        this.board = board;
+        this.BLANK = BLANK;
+    }
+
+
+    /**
+     * Returns the board array.
+     * @return The board array
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board array, throwing the search state away.
+     * @param board - The array to set
+     */
+    public void setBoard(char[][] board) {
+        this.board = board;
+        endCell = -1;
+    }
+
+
+    /**
+     * Returns wether a cell is walkable or not.
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+    /**
+     * Returns the distance of a cell as last expanded.
+     */
+    private int getG(int cell) {
+        return initialized[cell] == generation ? gScore[cell] : INFINITY;
+    }
+
+    /**
+     * Returns the distance of a cell looking one move ahead.
+     */
+    private int getRhs(int cell) {
+        return initialized[cell] == generation ? rhsScore[cell] : INFINITY;
+    }
+
+    /**
+     * Sets both distances of a cell.
+     */
+    private void setScores(int cell, int g, int rhs) {
+        if (initialized[cell] != generation) {
+            initialized[cell] = generation;
+            parent[cell] = -1;
+            touched[touchedCount++] = cell;
+        }
+        gScore[cell] = g;
+        rhsScore[cell] = rhs;
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells.
+     */
+    private int heuristic(int a, int b) {
+        int width = board[0].length;
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+
+    /**
+     * Roots a new search at the specified end cell.
+     */
+    private void initialize(int end, int start) {
+        int size = board.length*board[0].length;
+        if (gScore.length != size) {
+            gScore = new int[size];
+            rhsScore = new int[size];
+            parent = new int[size];
+            initialized = new int[size];
+            touched = new int[size];
+            marked = new int[size];
+            onBranch = new boolean[size];
+            stack = new int[size];
+            openList = new OpenList(size);
+            generation = 0;
+            markStamp = 0;
+        } else {
+            openList.clear();
+        }
+        generation++;
+        touchedCount = 0;
+
+        endCell = end;
+        lastStart = start;
+        keyModifier = 0;
+        setScores(end, INFINITY, 0);
+        openList.push(end, heuristic(start, end), 0);
+    }
+
+    /**
+     * Returns the first component of the key of a cell.
+     */
+    private int primaryKey(int cell, int start) {
+        int min = Math.min(getG(cell), getRhs(cell));
+        if (min >= INFINITY) {
+            return INFINITY;
+        }
+        return min + heuristic(start, cell) + keyModifier;
+    }
+
+    /**
+     * Returns the second component of the key of a cell.
+     */
+    private int secondaryKey(int cell) {
+        return Math.min(getG(cell), getRhs(cell));
+    }
+
+    /**
+     * Returns the neighbor with the lowest cost of moving from a cell to it and then to the end cell.
+     * @return The best neighbor, {@code -1} if no neighbor can reach the end cell
+     */
+    private int lookahead(int cell) {
+        int width = board[0].length;
+        int x = cell % width;
+        int y = cell / width;
+        int best = -1;
+        int bestG = INFINITY;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (isWalkable(adjacentX, adjacentY)) {
+                int adjacent = adjacentY*width + adjacentX;
+                int g = getG(adjacent);
+                if (g < bestG) {
+                    best = adjacent;
+                    bestG = g;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Recomputes the lookahead of a cell and puts it on the open list if it is inconsistent.
+     */
+    private void updateCell(int cell, int start) {
+        if (cell != endCell) {
+            int next = lookahead(cell);
+            setScores(cell, getG(cell), next < 0 ? INFINITY : getG(next)+1);
+            parent[cell] = next;
+        }
+        if (getG(cell) != getRhs(cell)) {
+            openList.update(cell, primaryKey(cell, start), secondaryKey(cell));
+        } else {
+            openList.remove(cell);
+        }
+    }
+
+    /**
+     * Updates the cells that move into the specified one.
+     */
+    private void updateNeighbors(int cell, int start) {
+        int width = board[0].length;
+        int x = cell % width;
+        int y = cell / width;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (adjacentX >= 0 && adjacentX < width && adjacentY >= 0 && adjacentY < board.length) {
+                updateCell(adjacentY*width + adjacentX, start);
+            }
+        }
+    }
+
+    /**
+     * Expands the inconsistent cells until the distance of the start cell is known.
+     */
+    private void computeShortestPath(int start) {
+        while (!openList.isEmpty()) {
+            int cell = openList.peek();
+            int oldPrimary = openList.getF(cell);
+            int oldSecondary = openList.getH(cell);
+            int startPrimary = primaryKey(start, start);
+            int startSecondary = secondaryKey(start);
+            boolean beforeStart = oldPrimary < startPrimary
+                || (oldPrimary == startPrimary && oldSecondary < startSecondary);
+            if (!beforeStart && getRhs(start) <= getG(start)) {
+                return;
+            }
+
+            int newPrimary = primaryKey(cell, start);
+            int newSecondary = secondaryKey(cell);
+            if (oldPrimary < newPrimary || (oldPrimary == newPrimary && oldSecondary < newSecondary)) {
+                openList.update(cell, newPrimary, newSecondary);
+            } else if (getG(cell) > getRhs(cell)) {
+                setScores(cell, getRhs(cell), getRhs(cell));
+                openList.remove(cell);
+                updateNeighbors(cell, start);
+            } else {
+                setScores(cell, INFINITY, getRhs(cell));
+                updateCell(cell, start);
+                updateNeighbors(cell, start);
+            }
+        }
+    }
+
+
+    /**
+     * Moves the root of the search to a new end cell, keeping the branch of the search tree under it.
+     *
+     * <p>The cells outside the branch are reset, and the ones next to the
+     * branch take their distance from it again. The distances on the branch
+     * are still measured to the old end cell, so they are repaired by the
+     * next {@link #computeShortestPath(int) computeShortestPath}.
+     */
+    private void retarget(int end, int start) {
+        if (getG(end) >= INFINITY && getRhs(end) >= INFINITY) {
+            initialize(end, start);
+            return;
+        }
+        markStamp++;
+        if (markStamp == Integer.MAX_VALUE) {
+            Arrays.fill(marked, 0);
+            markStamp = 1;
+        }
+        marked[end] = markStamp;
+        onBranch[end] = true;
+
+        // A cell is on the branch if following the parents from it reaches the new end cell
+        int count = touchedCount;
+        for (int i = 0; i < count; i++) {
+            int cell = touched[i];
+            int depth = 0;
+            while (cell >= 0 && marked[cell] != markStamp && depth < stack.length) {
+                marked[cell] = markStamp;
+                onBranch[cell] = false;
+                stack[depth++] = cell;
+                cell = initialized[cell] == generation ? parent[cell] : -1;
+            }
+            boolean branch = cell >= 0 && onBranch[cell];
+            while (depth > 0) {
+                onBranch[stack[--depth]] = branch;
+            }
+        }
+
+        // The cells outside the branch are reset by moving them to an older generation
+        int kept = 0;
+        int deleted = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = touched[i];
+            if (onBranch[cell]) {
+                touched[kept++] = cell;
+            } else {
+                initialized[cell] = generation-1;
+                openList.remove(cell);
+                stack[deleted++] = cell;
+            }
+        }
+        touchedCount = kept;
+        endCell = end;
+        setScores(end, getG(end), 0);
+        parent[end] = -1;
+        updateCell(end, start);
+        for (int i = 0; i < deleted; i++) {
+            if (lookahead(stack[i]) >= 0) {
+                updateCell(stack[i], start);
+            }
+        }
+    }
+
+
+    /**
+     * Reports a tile whose walkability changed since the last search.
+     *
+     * <p>The change is repaired on the next call to {@link #path(Point, Point) path}.
+     * @param coordinate - The {x, y} coordinate of the tile
+     */
+    public void tileChanged(int[] coordinate) {
+        if (endCell < 0) {
+            return;
+        }
+        updateNeighbors(coordinate[1]*board[0].length + coordinate[0], lastStart);
+    }
+
+    /**
+     * Returns the shortest path from the start point to the end point,
+     * repairing the previous search.
+     * @param start - The start point
+     * @param end - The end point
+     * @return The shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     */
+    @Override
+    public DynamicArray<Point> path(Point start, Point end) {
+        int width = board[0].length;
+        int startCell = start.coordinate[1]*width + start.coordinate[0];
+        int goal = end.coordinate[1]*width + end.coordinate[0];
+        if (startCell == goal) {
+            return new DynamicArray<>();
+        }
+
+        if (endCell < 0 || board.length*width != gScore.length) {
+            initialize(goal, startCell);
+        } else {
+            if (startCell != lastStart) {
+                keyModifier += heuristic(lastStart, startCell);
+                lastStart = startCell;
+            }
+            if (goal != endCell) {
+                retarget(goal, startCell);
+            }
+        }
+        computeShortestPath(startCell);
+        if (getRhs(startCell) >= INFINITY && getG(startCell) >= INFINITY) {
+            return null;
+        }
+
+        DynamicArray<Point> path = new DynamicArray<>();
+        Point previous = start;
+        int cell = startCell;
+        int maxLength = board.length*width;
+        while (cell != endCell) {
+            int x = cell % width;
+            int y = cell / width;
+            int next = -1;
+            int best = INFINITY;
+            for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                int adjacentX = x + DIRECTIONS_X[i];
+                int adjacentY = y + DIRECTIONS_Y[i];
+                if (isWalkable(adjacentX, adjacentY)) {
+                    int adjacent = adjacentY*width + adjacentX;
+                    if (getG(adjacent) < best) {
+                        best = getG(adjacent);
+                        next = adjacent;
+                    }
+                }
+            }
+            if (next < 0 || path.size() >= maxLength) {
+                return null;
+            }
+            cell = next;
+            previous = new Point(new int[]{cell % width, cell / width}, previous);
+            path.push(previous);
+        }
+        return path;
+    }
+}
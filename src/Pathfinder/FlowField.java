@@ -0,0 +1,213 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FlowField} class maps every cell of a board to its distance
+ * to a single target, so any number of players chasing the same target
+ * can read their next move without searching on their own.
+ *
+ * <p>The field is built by a breadth-first search from the target through
+ * the BLANK tiles of the board, moving in the same four directions as
+ * {@link src.pathfinder.A A}. Reading the next step of a cell afterwards
+ * only looks at its four neighbors.
+ *
+ * <p>The arrays of the field are reused from one {@link #update(int[]) update}
+ * to the next, as long as the board keeps its size.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ */
+public class FlowField {
+
+    /**
+     * The distance of the cells that can't reach the target.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The bidimensional array character data.
+     */
+    private char[][] board;
+
+    /**
+     * The distance from every cell to the target.
+     */
+    private int[] distance = new int[0];
+
+    /**
+     * The queue of the breadth-first search.
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * The cell of the target, {@code -1} if the field hasn't been built.
+     */
+    private int target = -1;
+
+
+    /**
+     * Constructs a flow field over the specified board.
+     * @param board - The board to construct
+     */
+    public FlowField(char[][] board) {
+        this.board = board;
+    }
+
+    /**
+     * Constructs a flow field over the specified board, and the customizable BLANK tile.
+     * @param board - The board to construct
+     * @param BLANK - A BLANK tile
+     */
+    public FlowField(char[][] board, char BLANK) {
+        this.board = board;
+        this.BLANK = BLANK;
+    }
+
+
+    /**
+     * Returns the board array.
+     * @return The board array
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board array.
+     *
+     * <p>The field must be {@link #update(int[]) updated} before reading it again.
+     * @param board - The array to set
+     */
+    public void setBoard(char[][] board) {
+        this.board = board;
+        target = -1;
+    }
+
+
+    /**
+     * Returns wether a coordinate is walkable or not.
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return True if the coordinate is walkable, false otherwise
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+
+    /**
+     * Builds the field towards the specified target.
+     *
+     * <p>The target itself doesn't need to be walkable.
+     * @param coordinate - The {x, y} coordinate of the target
+     */
+    public void update(int[] coordinate) {
+        int width = board[0].length;
+        int size = board.length*width;
+        if (distance.length != size) {
+            distance = new int[size];
+            queue = new int[size];
+        }
+        Arrays.fill(distance, UNREACHABLE);
+
+        target = coordinate[1]*width + coordinate[0];
+        distance[target] = 0;
+        queue[0] = target;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                int adjacentX = x + DIRECTIONS_X[i];
+                int adjacentY = y + DIRECTIONS_Y[i];
+                if (!isWalkable(adjacentX, adjacentY)) {
+                    continue;
+                }
+                int adjacent = adjacentY*width + adjacentX;
+                if (distance[adjacent] == UNREACHABLE) {
+                    distance[adjacent] = distance[cell] + 1;
+                    queue[tail++] = adjacent;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Returns the distance from a coordinate to the target.
+     * @param coordinate - The {x, y} coordinate to check
+     * @return The number of moves to the target, or {@link #UNREACHABLE}
+     * @throws IllegalStateException If the field hasn't been built
+     */
+    public int getDistance(int[] coordinate) {
+        if (target < 0) {
+            throw new IllegalStateException("The flow field hasn't been built");
+        }
+        if (coordinate[0] < 0 || coordinate[0] > board[0].length-1) return UNREACHABLE;
+        if (coordinate[1] < 0 || coordinate[1] > board.length-1) return UNREACHABLE;
+        return distance[coordinate[1]*board[0].length + coordinate[0]];
+    }
+
+    /**
+     * Returns the next step from a coordinate towards the target.
+     *
+     * <p>The step is the walkable neighbor closest to the target. Neighbors
+     * that stopped being walkable after the last update are skipped, so the
+     * field stays usable while the players following it move around.
+     * @param coordinate - The {x, y} coordinate to move from
+     * @return The {x, y} coordinate of the next step, or {@code null} if
+     * no neighbor gets closer to the target
+     * @throws IllegalStateException If the field hasn't been built
+     */
+    public int[] next(int[] coordinate) {
+        if (target < 0) {
+            throw new IllegalStateException("The flow field hasn't been built");
+        }
+        int width = board[0].length;
+        int x = coordinate[0];
+        int y = coordinate[1];
+        int current = getDistance(coordinate);
+        int best = -1;
+        int bestDistance = current == UNREACHABLE ? Integer.MAX_VALUE : current;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (adjacentX < 0 || adjacentX > width-1 || adjacentY < 0 || adjacentY > board.length-1) {
+                continue;
+            }
+            int adjacent = adjacentY*width + adjacentX;
+            int adjacentDistance = distance[adjacent];
+            if (adjacentDistance == UNREACHABLE || adjacentDistance >= bestDistance) {
+                continue;
+            }
+            if (adjacent != target && board[adjacentY][adjacentX] != BLANK) {
+                continue;
+            }
+            best = i;
+            bestDistance = adjacentDistance;
+        }
+        if (best < 0) {
+            return null;
+        }
+        return new int[]{x + DIRECTIONS_X[best], y + DIRECTIONS_Y[best]};
+    }
+}
@@ -0,0 +1,710 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+import src.logic.*;
+
+/**
+ * The {@code HPA} class provides an implementation of the hierarchical
+ * A* pathfinder algorithm, meant for boards too big to search cell by cell.
+ *
+ * <p>The board is split into square clusters. Where two clusters share
+ * a run of walkable cells, one or two entrances are placed on it, and the
+ * distance between every pair of entrances of a cluster is computed once.
+ * Searching a path then only goes through the entrances of the clusters,
+ * and the cells between them are filled in with a search that never leaves
+ * a single cluster.
+ *
+ * <p>The entrances and distances are kept between searches. When a tile
+ * changes, {@link #update(int[]) update} rebuilds only the cluster it
+ * belongs to, plus the neighbor clusters sharing a border if the tile is
+ * on one.
+ *
+ * <p>The paths returned are close to the shortest ones but not always
+ * the shortest, since they have to go through the entrances.
+ *
+ * <p>The start point doesn't need to be walkable, as when it is the tile
+ * of the player searching. A blocked start may then step straight into
+ * a neighbor cluster, so its walkable neighbors across the border of its
+ * cluster are searched from as well.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.Point Point
+ */
+public class HPA implements Pathfinder {
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * The length from which a run of walkable cells between two clusters
+     * gets an entrance on each end instead of one in the middle.
+     */
+    private static final int DOUBLE_ENTRANCE_LENGTH = 6;
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The bidimensional array character data.
+     */
+    private char[][] board;
+
+    /**
+     * The width and height of the clusters.
+     */
+    private int clusterSize;
+
+    /**
+     * The number of clusters on each row and column of the board.
+     */
+    private int clustersX;
+    private int clustersY;
+
+    /**
+     * For every cell, the directions in which it forms an entrance
+     * with the neighbor cell on another cluster, as {@code 1 << direction}.
+     */
+    private byte[] transitions;
+
+    /**
+     * The entrance nodes of every cluster.
+     */
+    private int[][] clusterNodes;
+
+    /**
+     * The distance between every pair of entrances of every cluster,
+     * as a flat {@code n*n} array, {@code -1} if they are not connected.
+     */
+    private int[][] clusterDistances;
+
+    /**
+     * The cell of every node.
+     */
+    private int[] nodeCell = new int[0];
+
+    /**
+     * The position of every node on the entrances of its cluster.
+     */
+    private int[] nodeIndex = new int[0];
+
+    /**
+     * The node ids released by the clusters that have been rebuilt.
+     */
+    private int[] freeIds = new int[0];
+    private int freeCount;
+
+    /**
+     * The number of node ids handed out so far.
+     */
+    private int nodeCount;
+
+    /**
+     * The scratch state of the searches over the entrances.
+     */
+    private SearchContext context = new SearchContext();
+
+    /**
+     * The costs from each walkable neighbor of a blocked start, across the
+     * border of its cluster, to the entrances of the neighbor's cluster.
+     */
+    private int[][] sideCosts = new int[DIRECTIONS_X.length][];
+
+    /**
+     * The scratch state of the searches inside a cluster, by local cell.
+     */
+    private int[] localDistance;
+    private int[] localParent;
+    private int[] localQueue;
+
+
+    /**
+     * Constructs a hierarchical pathfinder over the specified board.
+     * @param board - The board to construct
+     * @param clusterSize - The width and height of the clusters
+     * @throws IllegalArgumentException If {@code clusterSize < 1}
+     */
+    public HPA(char[][] board, int clusterSize) {
+        this(board, clusterSize, ' ');
+    }
+
+    /**
+     * Constructs a hierarchical pathfinder over the specified board, and the customizable BLANK tile.
+     * @param board - The board to construct
+     * @param clusterSize - The width and height of the clusters
+     * @param BLANK - A BLANK tile
+     * @throws IllegalArgumentException If {@code clusterSize < 1}
+     */
+    public HPA(char[][] board, int clusterSize, char BLANK) {
+        if (clusterSize < 1) {
+            throw new IllegalArgumentException("Illegal cluster size: " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+        this.BLANK = BLANK;
+        localDistance = new int[clusterSize*clusterSize];
+        localParent = new int[clusterSize*clusterSize];
+        localQueue = new int[clusterSize*clusterSize];
+        setBoard(board);
+    }
+
+
+    /**
+     * Returns the board array.
+     * @return The board array
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board array and rebuilds every cluster.
+     * @param board - The array to set
+     */
+    public void setBoard(char[][] board) {
+        this.board = board;
+        int width = board[0].length;
+        clustersX = (width + clusterSize - 1) / clusterSize;
+        clustersY = (board.length + clusterSize - 1) / clusterSize;
+        transitions = new byte[board.length*width];
+        clusterNodes = new int[clustersX*clustersY][0];
+        clusterDistances = new int[clustersX*clustersY][0];
+        nodeCount = 0;
+        freeCount = 0;
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (cx+1 < clustersX) {
+                    buildBorder(cx, cy, true);
+                }
+                if (cy+1 < clustersY) {
+                    buildBorder(cx, cy, false);
+                }
+            }
+        }
+        for (int cluster = 0; cluster < clusterNodes.length; cluster++) {
+            buildCluster(cluster);
+        }
+    }
+
+    /**
+     * Returns the width and height of the clusters.
+     * @return The width and height of the clusters
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+
+    /**
+     * Rebuilds the clusters affected by a change of the tile at the specified coordinate.
+     * @param coordinate - The {x, y} coordinate of the tile that changed
+     */
+    public void update(int[] coordinate) {
+        int x = coordinate[0];
+        int y = coordinate[1];
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        boolean left = x % clusterSize == 0 && cx > 0;
+        boolean right = (x+1) % clusterSize == 0 && cx+1 < clustersX;
+        boolean up = y % clusterSize == 0 && cy > 0;
+        boolean down = (y+1) % clusterSize == 0 && cy+1 < clustersY;
+
+        if (left) {
+            buildBorder(cx-1, cy, true);
+            buildCluster(cy*clustersX + cx-1);
+        }
+        if (right) {
+            buildBorder(cx, cy, true);
+            buildCluster(cy*clustersX + cx+1);
+        }
+        if (up) {
+            buildBorder(cx, cy-1, false);
+            buildCluster((cy-1)*clustersX + cx);
+        }
+        if (down) {
+            buildBorder(cx, cy, false);
+            buildCluster((cy+1)*clustersX + cx);
+        }
+        buildCluster(cy*clustersX + cx);
+    }
+
+
+    /**
+     * Returns wether a coordinate is walkable or not.
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return True if the coordinate is walkable, false otherwise
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+    /**
+     * Returns the cluster a cell belongs to.
+     * @param cell - The cell to check
+     * @return The index of the cluster of the cell
+     */
+    private int clusterOf(int cell) {
+        int width = board[0].length;
+        return (cell / width / clusterSize)*clustersX + (cell % width / clusterSize);
+    }
+
+
+    /**
+     * Places the entrances on the border between a cluster and the one
+     * to its right or below it.
+     * @param cx - The column of the cluster
+     * @param cy - The row of the cluster
+     * @param horizontal - {@code true} for the cluster to the right,
+     * {@code false} for the cluster below
+     */
+    private void buildBorder(int cx, int cy, boolean horizontal) {
+        int width = board[0].length;
+        int length;
+        int stepX;
+        int stepY;
+        int x;
+        int y;
+        int direction;
+        int opposite;
+        if (horizontal) {
+            x = (cx+1)*clusterSize - 1;
+            y = cy*clusterSize;
+            length = Math.min(clusterSize, board.length - y);
+            stepX = 0;
+            stepY = 1;
+            direction = 3;
+            opposite = 2;
+        } else {
+            x = cx*clusterSize;
+            y = (cy+1)*clusterSize - 1;
+            length = Math.min(clusterSize, width - x);
+            stepX = 1;
+            stepY = 0;
+            direction = 1;
+            opposite = 0;
+        }
+        int acrossX = DIRECTIONS_X[direction];
+        int acrossY = DIRECTIONS_Y[direction];
+
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int ax = x + i*stepX;
+            int ay = y + i*stepY;
+            boolean open = i < length && isWalkable(ax, ay) && isWalkable(ax+acrossX, ay+acrossY);
+            if (i < length) {
+                int cell = ay*width + ax;
+                int acrossCell = (ay+acrossY)*width + ax+acrossX;
+                transitions[cell] &= ~(1 << direction);
+                transitions[acrossCell] &= ~(1 << opposite);
+            }
+
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i-1;
+                if (runEnd - runStart + 1 < DOUBLE_ENTRANCE_LENGTH) {
+                    int middle = (runStart + runEnd) / 2;
+                    addTransition(x + middle*stepX, y + middle*stepY, direction, opposite);
+                } else {
+                    addTransition(x + runStart*stepX, y + runStart*stepY, direction, opposite);
+                    addTransition(x + runEnd*stepX, y + runEnd*stepY, direction, opposite);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    /**
+     * Marks a cell and its neighbor in a direction as an entrance.
+     */
+    private void addTransition(int x, int y, int direction, int opposite) {
+        int width = board[0].length;
+        transitions[y*width + x] |= 1 << direction;
+        transitions[(y+DIRECTIONS_Y[direction])*width + x+DIRECTIONS_X[direction]] |= 1 << opposite;
+    }
+
+
+    /**
+     * Collects the entrance nodes of a cluster and the distances between them.
+     * @param cluster - The index of the cluster
+     */
+    private void buildCluster(int cluster) {
+        for (int id : clusterNodes[cluster]) {
+            releaseId(id);
+        }
+
+        int width = board[0].length;
+        int originX = (cluster % clustersX)*clusterSize;
+        int originY = (cluster / clustersX)*clusterSize;
+        int clusterWidth = Math.min(clusterSize, width - originX);
+        int clusterHeight = Math.min(clusterSize, board.length - originY);
+
+        int count = 0;
+        int[] cells = context.getBuffer(4*clusterSize);
+        for (int y = originY; y < originY + clusterHeight; y++) {
+            for (int x = originX; x < originX + clusterWidth; x++) {
+                boolean perimeter = y == originY || x == originX
+                    || y == originY + clusterHeight-1 || x == originX + clusterWidth-1;
+                if (perimeter && transitions[y*width + x] != 0) {
+                    cells[count++] = y*width + x;
+                }
+            }
+        }
+
+        int[] nodes = new int[count];
+        for (int i = 0; i < count; i++) {
+            nodes[i] = takeId(cells[i]);
+            nodeIndex[nodes[i]] = i;
+        }
+        int[] distances = new int[count*count];
+        for (int i = 0; i < count; i++) {
+            localSearch(cluster, nodeCell[nodes[i]], -1);
+            for (int j = 0; j < count; j++) {
+                distances[i*count + j] = localDistance[toLocal(cluster, nodeCell[nodes[j]])];
+            }
+        }
+        clusterNodes[cluster] = nodes;
+        clusterDistances[cluster] = distances;
+    }
+
+    /**
+     * Hands out a node id for the specified cell.
+     */
+    private int takeId(int cell) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nodeCount++;
+            if (id >= nodeCell.length) {
+                int capacity = Math.max(16, nodeCell.length*2);
+                nodeCell = Arrays.copyOf(nodeCell, capacity);
+                nodeIndex = Arrays.copyOf(nodeIndex, capacity);
+                freeIds = Arrays.copyOf(freeIds, capacity);
+            }
+        }
+        nodeCell[id] = cell;
+        return id;
+    }
+
+    /**
+     * Gives back a node id to be handed out again.
+     */
+    private void releaseId(int id) {
+        freeIds[freeCount++] = id;
+    }
+
+
+    /**
+     * Returns the index of a cell on the scratch arrays of its cluster.
+     */
+    private int toLocal(int cluster, int cell) {
+        int width = board[0].length;
+        int originX = (cluster % clustersX)*clusterSize;
+        int originY = (cluster / clustersX)*clusterSize;
+        int clusterWidth = Math.min(clusterSize, width - originX);
+        return (cell / width - originY)*clusterWidth + (cell % width - originX);
+    }
+
+    /**
+     * Runs a breadth-first search from a cell without leaving its cluster.
+     *
+     * <p>The distances and parents are left on the local scratch arrays,
+     * {@code -1} for the cells that can't be reached. The source doesn't
+     * need to be walkable.
+     * @param cluster - The cluster to search in
+     * @param source - The cell to start from
+     * @param target - The cell to stop at, or {@code -1} to search the whole cluster
+     */
+    private void localSearch(int cluster, int source, int target) {
+        int width = board[0].length;
+        int originX = (cluster % clustersX)*clusterSize;
+        int originY = (cluster / clustersX)*clusterSize;
+        int clusterWidth = Math.min(clusterSize, width - originX);
+        int clusterHeight = Math.min(clusterSize, board.length - originY);
+        Arrays.fill(localDistance, 0, clusterWidth*clusterHeight, -1);
+
+        int start = toLocal(cluster, source);
+        int end = target < 0 ? -1 : toLocal(cluster, target);
+        localDistance[start] = 0;
+        localParent[start] = start;
+        localQueue[0] = start;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int local = localQueue[head++];
+            if (local == end) {
+                return;
+            }
+            int x = local % clusterWidth;
+            int y = local / clusterWidth;
+            for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                int adjacentX = x + DIRECTIONS_X[i];
+                int adjacentY = y + DIRECTIONS_Y[i];
+                if (adjacentX < 0 || adjacentX > clusterWidth-1 || adjacentY < 0 || adjacentY > clusterHeight-1) {
+                    continue;
+                }
+                int adjacent = adjacentY*clusterWidth + adjacentX;
+                if (localDistance[adjacent] >= 0 || !isWalkable(originX + adjacentX, originY + adjacentY)) {
+                    continue;
+                }
+                localDistance[adjacent] = localDistance[local] + 1;
+                localParent[adjacent] = local;
+                localQueue[tail++] = adjacent;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the shortest path through the clusters from the start point to the end point.
+     * @param start - The start point
+     * @param end - The end point
+     * @return The path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     * @see src.pathfinder.A#path(Point, Point) A.path
+     */
+    @Override
+    public DynamicArray<Point> path(Point start, Point end) {
+        return path(start, end, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first steps of the shortest path through the clusters
+     * from the start point to the end point.
+     *
+     * <p>The whole route is searched through the entrances, but only the
+     * clusters needed for the first {@code steps} cells are filled in.
+     * @param start - The start point
+     * @param end - The end point
+     * @param steps - The maximum number of points to return
+     * @return The first points of the path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     */
+    public DynamicArray<Point> path(Point start, Point end, int steps) {
+        int width = board[0].length;
+        int startCell = start.coordinate[1]*width + start.coordinate[0];
+        int endCell = end.coordinate[1]*width + end.coordinate[0];
+        if (startCell == endCell) {
+            return new DynamicArray<>();
+        }
+        if (!isWalkable(end.coordinate[0], end.coordinate[1])) {
+            return null;
+        }
+
+        int startCluster = clusterOf(startCell);
+        int endCluster = clusterOf(endCell);
+        int[] startNodes = clusterNodes[startCluster];
+        int[] endNodes = clusterNodes[endCluster];
+        int[] startCosts = new int[startNodes.length];
+        int[] endCosts = new int[endNodes.length];
+
+        localSearch(startCluster, startCell, -1);
+        for (int i = 0; i < startNodes.length; i++) {
+            startCosts[i] = localDistance[toLocal(startCluster, nodeCell[startNodes[i]])];
+        }
+        int direct = startCluster == endCluster ? localDistance[toLocal(startCluster, endCell)] : -1;
+
+        // A blocked start isn't on any run of its border, so it gets its own links across it
+        int[] sideCells = new int[DIRECTIONS_X.length];
+        int[] sideDirect = new int[DIRECTIONS_X.length];
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int sideX = start.coordinate[0] + DIRECTIONS_X[i];
+            int sideY = start.coordinate[1] + DIRECTIONS_Y[i];
+            sideCells[i] = -1;
+            if (isWalkable(start.coordinate[0], start.coordinate[1]) || !isWalkable(sideX, sideY)
+                || clusterOf(sideY*width + sideX) == startCluster) {
+                continue;
+            }
+            sideCells[i] = sideY*width + sideX;
+            int sideCluster = clusterOf(sideCells[i]);
+            int[] sideNodes = clusterNodes[sideCluster];
+            localSearch(sideCluster, sideCells[i], -1);
+            if (sideCosts[i] == null || sideCosts[i].length < sideNodes.length) {
+                sideCosts[i] = new int[sideNodes.length];
+            }
+            for (int j = 0; j < sideNodes.length; j++) {
+                sideCosts[i][j] = localDistance[toLocal(sideCluster, nodeCell[sideNodes[j]])];
+            }
+            sideDirect[i] = sideCluster == endCluster ? localDistance[toLocal(sideCluster, endCell)] : -1;
+        }
+        localSearch(endCluster, endCell, -1);
+        for (int i = 0; i < endNodes.length; i++) {
+            endCosts[i] = localDistance[toLocal(endCluster, nodeCell[endNodes[i]])];
+        }
+
+        int startId = nodeCell.length;
+        int endId = startId+1;
+        int sideId = startId+2;
+        context.reset(sideId + DIRECTIONS_X.length);
+        OpenList openList = context.getOpenList();
+        context.visit(startId, 0, startId);
+        openList.push(startId, heuristic(startCell, endCell), 0);
+        boolean found = false;
+        while (!openList.isEmpty() && !found) {
+            int id = openList.poll();
+            if (id == endId) {
+                found = true;
+                continue;
+            }
+            context.close(id);
+            int g = context.getCost(id);
+
+            if (id == startId) {
+                for (int i = 0; i < startNodes.length; i++) {
+                    if (startCosts[i] >= 0) {
+                        relax(id, startNodes[i], g + startCosts[i], endCell, endCell);
+                    }
+                }
+                if (direct >= 0) {
+                    relax(id, endId, g + direct, endCell, endCell);
+                }
+                for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                    if (sideCells[i] >= 0) {
+                        relax(id, sideId+i, g + 1, sideCells[i], endCell);
+                    }
+                }
+                continue;
+            }
+
+            if (id >= sideId) {
+                int side = id - sideId;
+                int[] nodes = clusterNodes[clusterOf(sideCells[side])];
+                for (int j = 0; j < nodes.length; j++) {
+                    if (sideCosts[side][j] >= 0) {
+                        relax(id, nodes[j], g + sideCosts[side][j], nodeCell[nodes[j]], endCell);
+                    }
+                }
+                if (sideDirect[side] >= 0) {
+                    relax(id, endId, g + sideDirect[side], endCell, endCell);
+                }
+                continue;
+            }
+
+            int cell = nodeCell[id];
+            int cluster = clusterOf(cell);
+            int[] nodes = clusterNodes[cluster];
+            int[] distances = clusterDistances[cluster];
+            int index = nodeIndex[id];
+            for (int j = 0; j < nodes.length; j++) {
+                int distance = distances[index*nodes.length + j];
+                if (j != index && distance >= 0) {
+                    relax(id, nodes[j], g + distance, nodeCell[nodes[j]], endCell);
+                }
+            }
+            for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                if ((transitions[cell] & (1 << i)) != 0) {
+                    int across = cell + DIRECTIONS_Y[i]*width + DIRECTIONS_X[i];
+                    int acrossId = findNode(across);
+                    if (acrossId >= 0) {
+                        relax(id, acrossId, g + 1, across, endCell);
+                    }
+                }
+            }
+            if (cluster == endCluster && endCosts[index] >= 0) {
+                relax(id, endId, g + endCosts[index], endCell, endCell);
+            }
+        }
+        if (!found) {
+            return null;
+        }
+
+        int length = 0;
+        for (int id = endId; id != startId; id = context.getParent(id)) {
+            length++;
+        }
+        int[] route = new int[length+1];
+        for (int i = length, id = endId; i >= 0; i--, id = context.getParent(id)) {
+            route[i] = id == startId ? startCell : id == endId ? endCell
+                : id >= sideId ? sideCells[id - sideId] : nodeCell[id];
+        }
+        return refine(start, route, steps);
+    }
+
+    /**
+     * Lowers the cost of a node if the specified one is cheaper.
+     */
+    private void relax(int from, int id, int cost, int cell, int endCell) {
+        if (context.isClosed(id) || cost >= context.getCost(id)) {
+            return;
+        }
+        context.visit(id, cost, from);
+        int h = heuristic(cell, endCell);
+        context.getOpenList().push(id, cost + h, h);
+    }
+
+    /**
+     * Returns the node id of an entrance cell, or {@code -1} if it is not an entrance.
+     */
+    private int findNode(int cell) {
+        for (int id : clusterNodes[clusterOf(cell)]) {
+            if (nodeCell[id] == cell) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells.
+     */
+    private int heuristic(int a, int b) {
+        int width = board[0].length;
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+
+    /**
+     * Fills in the cells between the cells of a route through the entrances.
+     * @param start - The start point
+     * @param route - The cells of the route, starting at the start cell
+     * @param steps - The maximum number of points to fill in
+     * @return The filled in path
+     */
+    private DynamicArray<Point> refine(Point start, int[] route, int steps) {
+        int width = board[0].length;
+        DynamicArray<Point> path = new DynamicArray<>();
+        Point previous = start;
+        for (int i = 1; i < route.length && path.size() < steps; i++) {
+            int from = route[i-1];
+            int to = route[i];
+            if (from == to) {
+                continue;
+            }
+            int cluster = clusterOf(from);
+            if (cluster != clusterOf(to)) {
+                previous = new Point(new int[]{to % width, to / width}, previous);
+                path.push(previous);
+                continue;
+            }
+
+            localSearch(cluster, from, to);
+            int originX = (cluster % clustersX)*clusterSize;
+            int originY = (cluster / clustersX)*clusterSize;
+            int clusterWidth = Math.min(clusterSize, width - originX);
+            int local = toLocal(cluster, to);
+            int length = localDistance[local];
+            int[] cells = context.getBuffer(length);
+            for (int j = length-1; j >= 0; j--, local = localParent[local]) {
+                cells[j] = (originY + local / clusterWidth)*width + originX + local % clusterWidth;
+            }
+            for (int j = 0; j < length && path.size() < steps; j++) {
+                previous = new Point(new int[]{cells[j] % width, cells[j] / width}, previous);
+                path.push(previous);
+            }
+        }
+        return path;
+    }
+}
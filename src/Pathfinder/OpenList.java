@@ -0,0 +1,264 @@
+package src.pathfinder;
+
+/**
+ * The {@code OpenList} class is a binary min-heap of board cells,
+ * used as the open set of the pathfinders.
+ *
+ * <p>Cells are stored as flat {@code y*width+x} indices and ordered by
+ * their f-score, ties are broken towards the lowest heuristic so the search
+ * keeps going deeper instead of widening the frontier.
+ *
+ * <p>The heap remembers where every cell is stored, so pushing a cell
+ * that is already on the list with a lower score updates it in place
+ * instead of adding a duplicate. Scores can also be raised or cells
+ * removed through {@link #update(int, int, int) update} and
+ * {@link #remove(int) remove}, as incremental searches need.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ */
+public class OpenList {
+
+    /**
+     * The cells on the heap, the root being the one with the lowest score.
+     */
+    private int[] heap;
+
+    /**
+     * The f-score of every cell, indexed by cell.
+     */
+    private int[] fScore;
+
+    /**
+     * The heuristic of every cell, indexed by cell.
+     */
+    private int[] hScore;
+
+    /**
+     * The position of every cell on the heap plus one, {@code 0} if
+     * the cell is not on the heap.
+     */
+    private int[] position;
+
+    /**
+     * The number of cells on the heap.
+     */
+    private int size;
+
+
+    /**
+     * Constructs an empty open list able to hold the cells of a board.
+     * @param capacity - The number of cells of the board
+     */
+    public OpenList(int capacity) {
+        heap = new int[capacity];
+        fScore = new int[capacity];
+        hScore = new int[capacity];
+        position = new int[capacity];
+    }
+
+
+    /**
+     * Returns the number of cells on the list.
+     * @return The number of cells on the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the list contains no cells.
+     * @return {@code true} if the list contains no cells
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if the cell is on the list.
+     * @param cell - The cell to check
+     * @return {@code true} if the cell is on the list
+     */
+    public boolean contains(int cell) {
+        return position[cell] != 0;
+    }
+
+
+    /**
+     * Adds a cell to the list, or lowers its score if it is already on it.
+     *
+     * <p>If the cell is already on the list with an equal or lower f-score
+     * the call has no effect.
+     * @param cell - The cell to add
+     * @param f - The f-score of the cell
+     * @param h - The heuristic of the cell
+     */
+    public void push(int cell, int f, int h) {
+        int index = position[cell]-1;
+        if (index < 0) {
+            index = size++;
+            heap[index] = cell;
+            position[cell] = index+1;
+        } else if (f >= fScore[cell]) {
+            return;
+        }
+        fScore[cell] = f;
+        hScore[cell] = h;
+        siftUp(index);
+    }
+
+    /**
+     * Sets the score of a cell, adding it to the list if it isn't on it.
+     *
+     * <p>Unlike {@link #push(int, int, int) push}, the score may also be raised.
+     * @param cell - The cell to update
+     * @param f - The f-score of the cell
+     * @param h - The heuristic of the cell
+     */
+    public void update(int cell, int f, int h) {
+        int index = position[cell]-1;
+        if (index < 0) {
+            push(cell, f, h);
+            return;
+        }
+        fScore[cell] = f;
+        hScore[cell] = h;
+        siftUp(index);
+        siftDown(position[cell]-1);
+    }
+
+    /**
+     * Removes a cell from the list, if it is on it.
+     * @param cell - The cell to remove
+     */
+    public void remove(int cell) {
+        int index = position[cell]-1;
+        if (index < 0) {
+            return;
+        }
+        position[cell] = 0;
+        size--;
+        if (index < size) {
+            int moved = heap[size];
+            heap[index] = moved;
+            position[moved] = index+1;
+            siftUp(index);
+            siftDown(position[moved]-1);
+        }
+    }
+
+    /**
+     * Returns the cell with the lowest score without removing it.
+     * @return The cell with the lowest score
+     * @throws IllegalStateException If the list is empty
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("The open list is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the f-score a cell was last pushed with.
+     * @param cell - The cell to check
+     * @return The f-score of the cell
+     */
+    public int getF(int cell) {
+        return fScore[cell];
+    }
+
+    /**
+     * Returns the heuristic a cell was last pushed with.
+     * @param cell - The cell to check
+     * @return The heuristic of the cell
+     */
+    public int getH(int cell) {
+        return hScore[cell];
+    }
+
+    /**
+     * Removes and returns the cell with the lowest score.
+     * @return The cell with the lowest score
+     * @throws IllegalStateException If the list is empty
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("The open list is empty");
+        }
+        int cell = heap[0];
+        position[cell] = 0;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 1;
+            siftDown(0);
+        }
+        return cell;
+    }
+
+    /**
+     * Removes all the cells from the list.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = 0;
+        }
+        size = 0;
+    }
+
+
+    /**
+     * Returns {@code true} if the cell {@code a} goes before the cell {@code b}.
+     */
+    private boolean less(int a, int b) {
+        if (fScore[a] != fScore[b]) {
+            return fScore[a] < fScore[b];
+        }
+        return hScore[a] < hScore[b];
+    }
+
+    /**
+     * Moves the cell at the specified index up until the heap is ordered.
+     */
+    private void siftUp(int index) {
+        int cell = heap[index];
+        while (index > 0) {
+            int parent = (index-1) >>> 1;
+            int parentCell = heap[parent];
+            if (!less(cell, parentCell)) {
+                break;
+            }
+            heap[index] = parentCell;
+            position[parentCell] = index+1;
+            index = parent;
+        }
+        heap[index] = cell;
+        position[cell] = index+1;
+    }
+
+    /**
+     * Moves the cell at the specified index down until the heap is ordered.
+     */
+    private void siftDown(int index) {
+        int cell = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2*index+1;
+            int right = child+1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], cell)) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index+1;
+            index = child;
+        }
+        heap[index] = cell;
+        position[cell] = index+1;
+    }
+}
@@ -0,0 +1,169 @@
+package src.pathfinder;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import src.logic.*;
+
+/**
+ * The {@code Path} class holds a path as the flat {@code y*width+x}
+ * indices of its cells, packed on a single {@code int[]}.
+ *
+ * <p>It is the compact counterpart of the {@code DynamicArray<Point>}
+ * paths, a path of {@code n} steps taking a single array instead of
+ * {@code n} points with a coordinate array each. The steps can be read
+ * by index or walked with the {@link Steps Steps} iterator, which
+ * doesn't allocate anything per step.
+ *
+ * <p>Like the point paths, a path doesn't include its start cell.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A#compactPath(Point, Point) A.compactPath
+ */
+public class Path {
+
+    /**
+     * The cells of the path, in order.
+     */
+    private final int[] cells;
+
+    /**
+     * The width of the board the path is on.
+     */
+    private final int width;
+
+
+    /**
+     * Constructs a path from the specified cells.
+     * @param cells - The cells of the path, owned by the path from now on
+     * @param width - The width of the board the path is on
+     */
+    Path(int[] cells, int width) {
+        this.cells = cells;
+        this.width = width;
+    }
+
+
+    /**
+     * @return The number of steps of the path
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * @return {@code true} if the path has no steps
+     */
+    public boolean isEmpty() {
+        return cells.length == 0;
+    }
+
+    /**
+     * Returns the flat index of a step.
+     * @param index - The index of the step
+     * @return The {@code y*width+x} index of the step
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public int getCell(int index) throws IndexOutOfBoundsException {
+        return cells[index];
+    }
+
+    /**
+     * Returns the x coordinate of a step.
+     * @param index - The index of the step
+     * @return The x coordinate of the step
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public int getX(int index) throws IndexOutOfBoundsException {
+        return cells[index] % width;
+    }
+
+    /**
+     * Returns the y coordinate of a step.
+     * @param index - The index of the step
+     * @return The y coordinate of the step
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public int getY(int index) throws IndexOutOfBoundsException {
+        return cells[index] / width;
+    }
+
+    /**
+     * Returns the coordinate of a step.
+     * @param index - The index of the step
+     * @return A new {x, y} coordinate of the step
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public int[] get(int index) throws IndexOutOfBoundsException {
+        return new int[]{getX(index), getY(index)};
+    }
+
+    /**
+     * Converts the path to points, every point linked to the one before it through {@code previous}.
+     * @param start - The start point of the path
+     * @return The points of the path
+     */
+    public DynamicArray<Point> toPoints(Point start) {
+        DynamicArray<Point> path = new DynamicArray<>(cells.length);
+        Point previous = start;
+        for (int i = 0; i < cells.length; i++) {
+            previous = new Point(get(i), previous);
+            path.push(previous);
+        }
+        return path;
+    }
+
+    /**
+     * Returns an iterator over the steps of the path.
+     * @return A new iterator at the first step
+     */
+    public Steps steps() {
+        return new Steps();
+    }
+
+    @Override
+    public String toString() {
+        String string = "[";
+        for (int i = 0; i < cells.length; i++) {
+            string += (i > 0 ? ", " : "") + "{" + getX(i) + ", " + getY(i) + "}";
+        }
+        return string + "]";
+    }
+
+
+    /**
+     * An iterator over the cells of the path, which also exposes the coordinate of the last cell returned.
+     */
+    public class Steps implements PrimitiveIterator.OfInt {
+        private int index = -1;
+
+        @Override
+        public boolean hasNext() {
+            return index+1 < cells.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return cells[++index];
+        }
+
+        /**
+         * @return The x coordinate of the last cell returned
+         */
+        public int getX() {
+            return Path.this.getX(index);
+        }
+
+        /**
+         * @return The y coordinate of the last cell returned
+         */
+        public int getY() {
+            return Path.this.getY(index);
+        }
+    }
+}
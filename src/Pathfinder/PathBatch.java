@@ -0,0 +1,158 @@
+package src.pathfinder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import src.exceptions.*;
+import src.logic.*;
+
+/**
+ * The {@code PathBatch} class solves many path queries over the same
+ * board at once, spreading them across the threads of a {@link ForkJoinPool}.
+ *
+ * <p>The board is copied when the batch is constructed, so the queries
+ * see the same tiles no matter what happens to the original board while
+ * they run. Every task searches with an {@link src.pathfinder.A A} taken
+ * from a pool owned by the batch, and gives it back once done, so there
+ * are never more of them than tasks running at once. They are kept for
+ * the following calls, and go away with the batch instead of staying on
+ * the threads of the pool. The threads share a single
+ * {@link src.pathfinder.Reachability Reachability} index of the copy,
+ * so the queries that can't be solved return without searching.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ */
+public class PathBatch {
+
+    /**
+     * The number of queries a task solves on its own instead of splitting them.
+     */
+    private static final int THRESHOLD = 4;
+
+    /**
+     * The copy of the board the queries are searched on.
+     */
+    private final char[][] snapshot;
+
+    /**
+     * The pool the queries are solved on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The pathfinders not being used by any task.
+     */
+    private final ConcurrentLinkedQueue<A> pathfinders = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The settings of the pathfinders.
+     */
+    private final char BLANK;
+    private final A.Mode mode;
+    private final Reachability reachability;
+
+
+    /**
+     * Constructs a batch over a copy of the specified board, solved on the common pool.
+     * @param board - The board to copy
+     */
+    public PathBatch(char[][] board) {
+        this(board, ' ', A.Mode.ASTAR, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a full-custom batch over a copy of the specified board.
+     * @param board - The board to copy
+     * @param BLANK - A BLANK tile
+     * @param mode - The search algorithm of the pathfinders
+     * @param pool - The pool to solve the queries on
+     */
+    public PathBatch(char[][] board, char BLANK, A.Mode mode, ForkJoinPool pool) {
+        snapshot = new char[board.length][];
+        for (int y = 0; y < board.length; y++) {
+            snapshot[y] = board[y].clone();
+        }
+        this.pool = pool;
+        this.BLANK = BLANK;
+        this.mode = mode;
+        reachability = new Reachability(snapshot, BLANK);
+    }
+
+    /**
+     * Takes an idle pathfinder, or constructs one if every pathfinder is in use.
+     */
+    private A takePathfinder() {
+        A pathfinder = pathfinders.poll();
+        if (pathfinder == null) {
+            pathfinder = new A(snapshot);
+            pathfinder.setBlank(BLANK);
+            pathfinder.setMode(mode);
+            pathfinder.setReachability(reachability);
+        }
+        return pathfinder;
+    }
+
+
+    /**
+     * Returns the shortest paths between every start point and its end point.
+     * @param starts - The start points
+     * @param ends - The end points, in the same order as the start points
+     * @return The paths in the order of the queries, with {@code null}
+     * for the end points that can't be reached
+     * @throws InvalidArrayError If there aren't as many start points as end points
+     * @see src.pathfinder.A#path(Point, Point) A.path
+     */
+    public DynamicArray<DynamicArray<Point>> paths(DynamicArray<Point> starts, DynamicArray<Point> ends) throws InvalidArrayError {
+        if (!starts.isSameSize(ends)) {
+            throw new InvalidArrayError("The arrays lengths doesn't match");
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        DynamicArray<Point>[] results = new DynamicArray[starts.size()];
+        pool.invoke(new Query(starts, ends, results, 0, starts.size()));
+        return DynamicArray.of(results);
+    }
+
+
+    /**
+     * A range of queries, split in halves until it is small enough to be solved.
+     */
+    private class Query extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DynamicArray<Point> starts;
+        private final DynamicArray<Point> ends;
+        private final DynamicArray<Point>[] results;
+        private final int from;
+        private final int to;
+
+        Query(DynamicArray<Point> starts, DynamicArray<Point> ends, DynamicArray<Point>[] results, int from, int to) {
+            this.starts = starts;
+            this.ends = ends;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                A pathfinder = takePathfinder();
+                try {
+                    for (int i = from; i < to; i++) {
+                        results[i] = pathfinder.path(starts.get(i), ends.get(i));
+                    }
+                } finally {
+                    pathfinders.offer(pathfinder);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Query(starts, ends, results, from, middle),
+                      new Query(starts, ends, results, middle, to));
+        }
+    }
+}
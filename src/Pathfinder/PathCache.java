@@ -0,0 +1,507 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import src.logic.*;
+
+/**
+ * The {@code PathCache} class keeps the paths found by a pathfinder,
+ * so repeated queries between the same points don't search again.
+ *
+ * <p>Paths are stored by their start and end coordinates, tagged with
+ * the version of the board they were found on. Every tile change has to
+ * be reported through {@link #tileChanged(int[], boolean) tileChanged},
+ * which advances the version. A cached path is only dropped if one of
+ * the changes since its version blocks a cell of the path, or opens a
+ * cell close enough to the start and end to make a shorter path possible.
+ *
+ * <p>The least recently used paths are evicted once the stored paths
+ * take more than the maximum number of bytes. The hits, misses,
+ * invalidations and evictions are counted to help tuning that maximum.
+ *
+ * <p>A player following a cached path can move its start forward with
+ * {@link #advance(Point, Point, int) advance}, so the rest of the path
+ * keeps being served from the cache.
+ *
+ * <p>A cache constructed with the board also follows an end point that
+ * moves one tile at a time, such as a chased player. A query whose end
+ * point is next to the end of a cached path from the same start reuses
+ * that path: cut short if the new end point is on it, or extended by the
+ * step otherwise. An extension may make the path up to two steps longer
+ * than the shortest one, so the extra steps a path may have piled up are
+ * bounded, and once over the bound the path is searched again.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.Pathfinder Pathfinder
+ */
+public class PathCache implements Pathfinder {
+
+    /**
+     * The estimated number of bytes taken by an entry apart from its cells.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * The number of tile changes remembered. Entries older than that
+     * can't be checked anymore and are dropped.
+     */
+    private static final int CHANGE_LOG_SIZE = 1024;
+
+    /**
+     * A cached path.
+     */
+    private static class Entry {
+        /**
+         * The {x, y} coordinates of the path, packed one after the other.
+         */
+        int[] cells;
+
+        /**
+         * The index of the first coordinate of the path on {@code cells}.
+         */
+        int offset;
+
+        /**
+         * The version of the board the path was last checked against.
+         */
+        long version;
+
+        /**
+         * The most steps the path may be longer than the shortest one, after following the end point.
+         */
+        int slack;
+
+        Entry(int[] cells, long version) {
+            this.cells = cells;
+            this.version = version;
+        }
+
+        int length() {
+            return cells.length/2 - offset;
+        }
+
+        int bytes() {
+            return cells.length*4 + ENTRY_OVERHEAD;
+        }
+    }
+
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * The pathfinder searching the paths that aren't cached.
+     */
+    private Pathfinder pathfinder;
+
+    /**
+     * The board the paths are on, {@code null} if the end points aren't followed.
+     */
+    private char[][] board;
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The most extra steps a path may pile up following its end point.
+     */
+    private int maxSlack;
+
+    /**
+     * The maximum number of bytes the cached paths can take.
+     */
+    private long maxBytes;
+
+    /**
+     * The number of bytes the cached paths take.
+     */
+    private long usedBytes;
+
+    /**
+     * The cached paths in least recently used order.
+     */
+    private LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The version of the board, the number of tile changes reported.
+     */
+    private long version;
+
+    /**
+     * The last tile changes, as packed {x, y} coordinates.
+     */
+    private int[] changedCells = new int[CHANGE_LOG_SIZE*2];
+
+    /**
+     * Wether each of the last tile changes opened the tile.
+     */
+    private boolean[] changedOpened = new boolean[CHANGE_LOG_SIZE];
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private long evictions;
+    private long retargets;
+
+
+    /**
+     * Constructs a cache over the specified pathfinder.
+     * @param pathfinder - The pathfinder searching the paths that aren't cached
+     * @param maxBytes - The maximum number of bytes the cached paths can take
+     * @throws IllegalArgumentException If {@code maxBytes < 0}
+     */
+    public PathCache(Pathfinder pathfinder, long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Illegal maximum size: " + maxBytes);
+        }
+        this.pathfinder = pathfinder;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Constructs a cache over the specified pathfinder that follows the end points moving over the board.
+     * @param pathfinder - The pathfinder searching the paths that aren't cached
+     * @param maxBytes - The maximum number of bytes the cached paths can take
+     * @param board - The board the paths are on
+     * @param BLANK - A BLANK tile
+     * @param maxSlack - The most steps a reused path may be longer than the shortest one
+     * @throws IllegalArgumentException If {@code maxBytes < 0} or {@code maxSlack < 0}
+     */
+    public PathCache(Pathfinder pathfinder, long maxBytes, char[][] board, char BLANK, int maxSlack) {
+        this(pathfinder, maxBytes);
+        if (maxSlack < 0) {
+            throw new IllegalArgumentException("Illegal slack: " + maxSlack);
+        }
+        this.board = board;
+        this.BLANK = BLANK;
+        this.maxSlack = maxSlack;
+    }
+
+
+    /**
+     * Returns the version of the board, the number of tile changes reported.
+     * @return The version of the board
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of queries answered from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of queries that had to be searched
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of paths dropped because of a tile change
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return The number of paths dropped to stay under the maximum size
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of hits served by following a moved end point
+     */
+    public long getRetargets() {
+        return retargets;
+    }
+
+    /**
+     * @return The number of bytes the cached paths take
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return The number of cached paths
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Sets the hit, miss, invalidation, eviction and retarget counters to 0.
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        invalidations = 0;
+        evictions = 0;
+        retargets = 0;
+    }
+
+    /**
+     * Removes every cached path.
+     */
+    public void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+
+    /**
+     * Reports a tile change, advancing the version of the board.
+     * @param coordinate - The {x, y} coordinate of the tile
+     * @param opened - {@code true} if the tile became walkable,
+     * {@code false} if it stopped being walkable
+     */
+    public void tileChanged(int[] coordinate, boolean opened) {
+        int index = (int) (version % CHANGE_LOG_SIZE);
+        changedCells[index*2] = coordinate[0];
+        changedCells[index*2 + 1] = coordinate[1];
+        changedOpened[index] = opened;
+        version++;
+    }
+
+
+    /**
+     * Returns the path from the start point to the end point,
+     * from the cache if there is a valid one.
+     *
+     * <p>If the cache follows the end points, the path may come from a
+     * cached path to a tile next to the end point, see {@link PathCache}.
+     * @param start - The start point
+     * @param end - The end point
+     * @return The shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     */
+    @Override
+    public DynamicArray<Point> path(Point start, Point end) {
+        long key = key(start.coordinate, end.coordinate);
+        Entry entry = lookup(key, start.coordinate, end.coordinate);
+        if (entry == null && board != null) {
+            entry = retarget(start.coordinate, end.coordinate);
+            if (entry != null) {
+                retargets++;
+                store(key, entry);
+            }
+        }
+        if (entry != null) {
+            hits++;
+            return toPath(start, entry);
+        }
+
+        misses++;
+        DynamicArray<Point> path = pathfinder.path(start, end);
+        if (path != null) {
+            int[] cells = new int[path.size()*2];
+            for (int i = 0; i < path.size(); i++) {
+                cells[i*2] = path.get(i).coordinate[0];
+                cells[i*2 + 1] = path.get(i).coordinate[1];
+            }
+            store(key, new Entry(cells, version));
+        }
+        return path;
+    }
+
+    /**
+     * Moves the start of a cached path the specified number of steps forward,
+     * after a player has moved along it.
+     * @param start - The start point of the cached path
+     * @param end - The end point of the cached path
+     * @param steps - The number of steps moved along the path
+     * @return {@code true} if there was a valid cached path to advance
+     */
+    public boolean advance(Point start, Point end, int steps) {
+        long key = key(start.coordinate, end.coordinate);
+        Entry entry = lookup(key, start.coordinate, end.coordinate);
+        if (entry == null || steps < 1 || steps > entry.length()) {
+            return false;
+        }
+
+        entries.remove(key);
+        if (steps == entry.length()) {
+            usedBytes -= entry.bytes();
+            return true;
+        }
+        entry.offset += steps;
+        int x = entry.cells[(entry.offset-1)*2];
+        int y = entry.cells[(entry.offset-1)*2 + 1];
+        Entry previous = entries.put(key(x, y, end.coordinate[0], end.coordinate[1]), entry);
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        return true;
+    }
+
+
+    /**
+     * Returns the cached entry for a key if it is still valid, dropping it otherwise.
+     */
+    private Entry lookup(long key, int[] start, int[] end) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!isValid(entry, start, end)) {
+            entries.remove(key);
+            usedBytes -= entry.bytes();
+            invalidations++;
+            return null;
+        }
+        entry.version = version;
+        return entry;
+    }
+
+    /**
+     * Builds an entry to the end point from a valid cached path from the
+     * same start to a tile next to it, if there is one.
+     * @param start - The {x, y} start coordinate
+     * @param end - The {x, y} end coordinate
+     * @return The new entry, or {@code null} if no cached path can be followed
+     */
+    private Entry retarget(int[] start, int[] end) {
+        if (start[0] == end[0] && start[1] == end[1]) {
+            return null;
+        }
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int[] previousEnd = {end[0] + DIRECTIONS_X[i], end[1] + DIRECTIONS_Y[i]};
+            if (previousEnd[0] < 0 || previousEnd[1] < 0) {
+                continue;
+            }
+            Entry entry = lookup(key(start, previousEnd), start, previousEnd);
+            if (entry == null) {
+                continue;
+            }
+
+            // The end point moved back along the path, what is left of it is still the shortest
+            for (int j = entry.offset; j < entry.cells.length/2; j++) {
+                if (entry.cells[j*2] == end[0] && entry.cells[j*2 + 1] == end[1]) {
+                    Entry result = new Entry(Arrays.copyOfRange(entry.cells, entry.offset*2, (j+1)*2), version);
+                    result.slack = entry.slack;
+                    return result;
+                }
+            }
+
+            // Every step may take the path one step further from the shortest one, which is
+            // at least one step shorter than before, and never shorter than the Manhattan distance
+            int length = entry.length() + 1;
+            int distance = Math.abs(end[0] - start[0]) + Math.abs(end[1] - start[1]);
+            int slack = Math.min(entry.slack + 2, length - distance);
+            if (slack > maxSlack || !isWalkable(end[0], end[1])) {
+                continue;
+            }
+            int[] cells = Arrays.copyOfRange(entry.cells, entry.offset*2, entry.cells.length + 2);
+            cells[cells.length-2] = end[0];
+            cells[cells.length-1] = end[1];
+            Entry result = new Entry(cells, version);
+            result.slack = slack;
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * Returns wether a coordinate is walkable or not.
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+    /**
+     * Checks the tile changes made since the version of an entry against its path.
+     */
+    private boolean isValid(Entry entry, int[] start, int[] end) {
+        if (version - entry.version > CHANGE_LOG_SIZE) {
+            return false;
+        }
+        int length = entry.length();
+        for (long change = entry.version; change < version; change++) {
+            int index = (int) (change % CHANGE_LOG_SIZE);
+            int x = changedCells[index*2];
+            int y = changedCells[index*2 + 1];
+            if (changedOpened[index]) {
+                int detour = Math.abs(x-start[0]) + Math.abs(y-start[1])
+                    + Math.abs(x-end[0]) + Math.abs(y-end[1]);
+                if (detour < length) {
+                    return false;
+                }
+            } else {
+                for (int i = entry.offset; i < entry.cells.length/2; i++) {
+                    if (entry.cells[i*2] == x && entry.cells[i*2 + 1] == y) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds an entry, evicting the least recently used ones if the cache is full.
+     */
+    private void store(long key, Entry entry) {
+        if (entry.bytes() > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            usedBytes -= previous.bytes();
+        }
+        usedBytes += entry.bytes();
+
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            usedBytes -= eldest.bytes();
+            evictions++;
+        }
+    }
+
+    /**
+     * Builds the path of a cached entry.
+     */
+    private DynamicArray<Point> toPath(Point start, Entry entry) {
+        DynamicArray<Point> path = new DynamicArray<>(entry.length());
+        Point previous = start;
+        for (int i = 0; i < entry.length(); i++) {
+            int index = (entry.offset + i)*2;
+            previous = new Point(new int[]{entry.cells[index], entry.cells[index + 1]}, previous);
+            path.push(previous);
+        }
+        return path;
+    }
+
+
+    /**
+     * Packs the start and end coordinates of a path in a key.
+     */
+    private static long key(int[] start, int[] end) {
+        return key(start[0], start[1], end[0], end[1]);
+    }
+
+    private static long key(int startX, int startY, int endX, int endY) {
+        return ((long) (startX & 0xFFFF) << 48) | ((long) (startY & 0xFFFF) << 32)
+            | ((long) (endX & 0xFFFF) << 16) | (endY & 0xFFFF);
+    }
+}
@@ -0,0 +1,28 @@
+package src.pathfinder;
+
+import src.logic.*;
+
+/**
+ * The {@code Pathfinder} interface is implemented by the classes able
+ * to find a path between two points of a board.
+ *
+ * <p>The path doesn't include the start point and ends at the end point,
+ * every point is linked to the one before it through {@code previous}.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.HPA HPA
+ */
+public interface Pathfinder {
+
+    /**
+     * Returns the shortest path from the start point to the end point.
+     * @param start - The start point
+     * @param end - The end point
+     * @return The shortest path from the start point to the end point,
+     * or {@code null} if the end point can't be reached
+     */
+    DynamicArray<Point> path(Point start, Point end);
+}
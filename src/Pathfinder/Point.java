@@ -1,5 +1,7 @@
 package src.pathfinder;
 
+import java.util.Arrays;
+
 import src.logic.*;
 
 /**
@@ -28,6 +30,11 @@ public class Point {
         return Operator.equals(coordinate, point.coordinate);
     }
 
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(coordinate);
+    }
+
     @Override
     public String toString() {
         return "(" + coordinate[0] + ", " + coordinate[1] + ")";
@@ -0,0 +1,547 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Reachability} class labels every BLANK tile of a board with
+ * the connected component it belongs to, so it can tell in constant time
+ * whether a path between two tiles exists at all.
+ *
+ * <p>The labels are kept up to date as tiles are reported through
+ * {@link #tileChanged(int[]) tileChanged}. Opening a tile joins the
+ * components around it, relabeling the smaller ones into the biggest.
+ * Closing a tile can only split its component if its BLANK neighbors
+ * aren't connected through the eight tiles around it. Only then are the
+ * parts around it flooded, one cell of each at a time, and every part
+ * that runs out of cells before the last one is relabeled, so the cost
+ * is bounded by the smaller parts instead of the whole component.
+ *
+ * <p>A start or end tile that isn't BLANK itself, such as the tile a
+ * player stands on, belongs to the components of its BLANK neighbors.
+ * Queries don't write anything, so once the board stops changing the
+ * index can be read by many threads at once.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.FlowField FlowField
+ */
+public class Reachability {
+
+    /**
+     * The component of the cells that aren't BLANK.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The {x, y} vectors of the moves a player can take, ordered by UP, DOWN, LEFT, RIGHT.
+     */
+    private static final int[] DIRECTIONS_X = {0, 0, -1, 1};
+    private static final int[] DIRECTIONS_Y = {-1, 1, 0, 0};
+
+    /**
+     * The {x, y} vectors of the eight tiles around a tile, in clockwise order from UP.
+     * The even ones are the neighbors a player can move to.
+     */
+    private static final int[] RING_X = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] RING_Y = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+    /**
+     * A tile that a player can pass through.
+     */
+    private char BLANK = ' ';
+
+    /**
+     * The bidimensional array character data.
+     */
+    private char[][] board;
+
+    /**
+     * The component of every cell, {@link #NONE} for the cells that aren't BLANK.
+     */
+    private int[] component = new int[0];
+
+    /**
+     * The number of cells of every component.
+     */
+    private int[] componentSize = new int[0];
+
+    /**
+     * The labels that aren't in use, as a stack.
+     */
+    private int[] freeLabels = new int[0];
+    private int freeCount;
+
+    /**
+     * The queue of the flood fills.
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * A scratch array for the components, or the parts, around a cell.
+     */
+    private int[] around = new int[DIRECTIONS_X.length];
+
+    /**
+     * The queues of the floods of the parts a component may split into.
+     */
+    private int[][] partQueues = new int[DIRECTIONS_X.length][0];
+    private int[] partHead = new int[DIRECTIONS_X.length];
+    private int[] partTail = new int[DIRECTIONS_X.length];
+
+    /**
+     * The part every part was found to be connected to, as a union-find forest.
+     */
+    private int[] partGroup = new int[DIRECTIONS_X.length];
+
+    /**
+     * Wether every part has been relabeled.
+     */
+    private boolean[] partDone = new boolean[DIRECTIONS_X.length];
+
+    /**
+     * The part that reached every cell first. The owners are valid on the current {@link #floodStamp} only.
+     */
+    private int[] owner = new int[0];
+    private int[] seen = new int[0];
+    private int floodStamp;
+
+
+    /**
+     * Constructs the index of the specified board.
+     * @param board - The board to construct
+     */
+    public Reachability(char[][] board) {
+        setBoard(board);
+    }
+
+    /**
+     * Constructs the index of the specified board, and the customizable BLANK tile.
+     * @param board - The board to construct
+     * @param BLANK - A BLANK tile
+     */
+    public Reachability(char[][] board, char BLANK) {
+        this.BLANK = BLANK;
+        setBoard(board);
+    }
+
+
+    /**
+     * Returns the board array.
+     * @return The board array
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board array, labeling it from scratch.
+     * @param board - The array to set
+     */
+    public void setBoard(char[][] board) {
+        this.board = board;
+        int width = board[0].length;
+        int size = board.length*width;
+        if (component.length != size) {
+            component = new int[size];
+            componentSize = new int[size+1];
+            freeLabels = new int[size+1];
+            queue = new int[size];
+            owner = new int[size];
+            seen = new int[size];
+            floodStamp = 0;
+            for (int i = 0; i < partQueues.length; i++) {
+                partQueues[i] = new int[size];
+            }
+        }
+        Arrays.fill(component, NONE);
+        freeCount = 0;
+        for (int label = componentSize.length-1; label >= 0; label--) {
+            freeLabels[freeCount++] = label;
+        }
+
+        for (int cell = 0; cell < size; cell++) {
+            if (component[cell] == NONE && board[cell / width][cell % width] == BLANK) {
+                int label = freeLabels[--freeCount];
+                componentSize[label] = flood(cell, NONE, label);
+            }
+        }
+    }
+
+
+    /**
+     * Returns wether a coordinate is walkable or not.
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return True if the coordinate is walkable, false otherwise
+     */
+    private boolean isWalkable(int x, int y) {
+        if (x < 0 || x > board[0].length-1) return false;
+        if (y < 0 || y > board.length-1) return false;
+        if (board[y][x] != BLANK) return false;
+        return true;
+    }
+
+    /**
+     * Relabels the BLANK cells connected to the specified one that have the old label.
+     * @param cell - The cell to start from, already BLANK
+     * @param from - The old label
+     * @param to - The new label
+     * @return The number of cells relabeled
+     */
+    private int flood(int cell, int from, int to) {
+        int width = board[0].length;
+        component[cell] = to;
+        queue[0] = cell;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                int adjacentX = x + DIRECTIONS_X[i];
+                int adjacentY = y + DIRECTIONS_Y[i];
+                int adjacent = adjacentY*width + adjacentX;
+                if (isWalkable(adjacentX, adjacentY) && component[adjacent] == from) {
+                    component[adjacent] = to;
+                    queue[tail++] = adjacent;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Writes the distinct components of the BLANK neighbors of a cell on the array.
+     * @param cell - The given cell
+     * @param components - The array to write the components on, at least 4 long
+     * @return The number of components written
+     */
+    private int findComponents(int cell, int[] components) {
+        int width = board[0].length;
+        int x = cell % width;
+        int y = cell / width;
+        int count = 0;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (isWalkable(adjacentX, adjacentY)) {
+                int label = component[adjacentY*width + adjacentX];
+                boolean found = false;
+                for (int j = 0; j < count; j++) {
+                    found |= components[j] == label;
+                }
+                if (!found && label != NONE) {
+                    components[count++] = label;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first BLANK neighbor of a cell with the specified label.
+     */
+    private int findNeighbor(int cell, int label) {
+        int width = board[0].length;
+        int x = cell % width;
+        int y = cell / width;
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = x + DIRECTIONS_X[i];
+            int adjacentY = y + DIRECTIONS_Y[i];
+            if (isWalkable(adjacentX, adjacentY) && component[adjacentY*width + adjacentX] == label) {
+                return adjacentY*width + adjacentX;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Updates the index after a tile changed.
+     *
+     * <p>Nothing is done if the tile is as BLANK, or as blocked, as it was.
+     * @param coordinate - The {x, y} coordinate of the tile
+     */
+    public void tileChanged(int[] coordinate) {
+        int width = board[0].length;
+        int cell = coordinate[1]*width + coordinate[0];
+        boolean walkable = board[coordinate[1]][coordinate[0]] == BLANK;
+        if (walkable == (component[cell] != NONE)) {
+            return;
+        }
+
+        if (walkable) {
+            int count = findComponents(cell, around);
+            if (count == 0) {
+                int label = freeLabels[--freeCount];
+                component[cell] = label;
+                componentSize[label] = 1;
+                return;
+            }
+            int biggest = around[0];
+            for (int i = 1; i < count; i++) {
+                if (componentSize[around[i]] > componentSize[biggest]) {
+                    biggest = around[i];
+                }
+            }
+            component[cell] = biggest;
+            componentSize[biggest]++;
+            for (int i = 0; i < count; i++) {
+                if (around[i] != biggest) {
+                    componentSize[biggest] += flood(findNeighbor(cell, around[i]), around[i], biggest);
+                    freeLabels[freeCount++] = around[i];
+                }
+            }
+            return;
+        }
+
+        int label = component[cell];
+        component[cell] = NONE;
+        componentSize[label]--;
+        if (componentSize[label] == 0) {
+            freeLabels[freeCount++] = label;
+            return;
+        }
+        int parts = findParts(coordinate[0], coordinate[1], around);
+        if (parts > 1) {
+            split(label, parts);
+        }
+    }
+
+    /**
+     * Writes a BLANK neighbor of a tile for every run of BLANK tiles around it that holds any.
+     *
+     * <p>Two neighbors on the same run are connected through the tiles
+     * around the tile, so the tile being closed can't separate them.
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @param parts - The array to write the neighbors on, at least 4 long
+     * @return The number of neighbors written
+     */
+    private int findParts(int x, int y, int[] parts) {
+        int width = board[0].length;
+        int first = -1;
+        for (int i = 0; i < RING_X.length && first < 0; i++) {
+            if (!isWalkable(x + RING_X[i], y + RING_Y[i])) {
+                first = i;
+            }
+        }
+        if (first < 0) {
+            return 1;
+        }
+
+        // Starting past a blocked tile, every run is met from its beginning
+        int count = 0;
+        boolean newRun = true;
+        for (int step = 1; step <= RING_X.length; step++) {
+            int i = (first + step) % RING_X.length;
+            int ringX = x + RING_X[i];
+            int ringY = y + RING_Y[i];
+            if (!isWalkable(ringX, ringY)) {
+                newRun = true;
+            } else if (i % 2 == 0 && newRun) {
+                parts[count++] = ringY*width + ringX;
+                newRun = false;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Floods the parts of a component around a closed tile one cell of each
+     * at a time, joining the parts that meet, and relabels every group of
+     * parts that runs out of cells while any other group is still growing.
+     * @param label - The label of the component
+     * @param parts - The number of parts, written on {@code around}
+     */
+    private void split(int label, int parts) {
+        int width = board[0].length;
+        floodStamp++;
+        if (floodStamp == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            floodStamp = 1;
+        }
+        for (int p = 0; p < parts; p++) {
+            int start = around[p];
+            partQueues[p][0] = start;
+            partHead[p] = 0;
+            partTail[p] = 1;
+            partGroup[p] = p;
+            partDone[p] = false;
+            seen[start] = floodStamp;
+            owner[start] = p;
+        }
+
+        int groups = parts;
+        while (groups > 1) {
+            for (int p = 0; p < parts && groups > 1; p++) {
+                if (partDone[p] || partHead[p] == partTail[p]) {
+                    continue;
+                }
+                int current = partQueues[p][partHead[p]++];
+                int x = current % width;
+                int y = current / width;
+                for (int i = 0; i < DIRECTIONS_X.length; i++) {
+                    int adjacentX = x + DIRECTIONS_X[i];
+                    int adjacentY = y + DIRECTIONS_Y[i];
+                    int adjacent = adjacentY*width + adjacentX;
+                    if (!isWalkable(adjacentX, adjacentY) || component[adjacent] != label) {
+                        continue;
+                    }
+                    if (seen[adjacent] != floodStamp) {
+                        seen[adjacent] = floodStamp;
+                        owner[adjacent] = p;
+                        partQueues[p][partTail[p]++] = adjacent;
+                    } else {
+                        int group = findGroup(p);
+                        int other = findGroup(owner[adjacent]);
+                        if (group != other) {
+                            partGroup[other] = group;
+                            groups--;
+                        }
+                    }
+                }
+            }
+            if (groups > 1) {
+                groups -= relabelFinished(label, parts, groups);
+            }
+        }
+    }
+
+    /**
+     * Returns the root of the group of a part.
+     */
+    private int findGroup(int part) {
+        while (partGroup[part] != part) {
+            part = partGroup[part];
+        }
+        return part;
+    }
+
+    /**
+     * Relabels the groups of parts whose floods are over, keeping the
+     * biggest one on the old label if every group is over.
+     * @return The number of groups relabeled
+     */
+    private int relabelFinished(int label, int parts, int groups) {
+        int finished = 0;
+        int biggest = -1;
+        int biggestSize = -1;
+        for (int p = 0; p < parts; p++) {
+            if (partDone[p] || findGroup(p) != p || groupSize(p, parts) < 0) {
+                continue;
+            }
+            finished++;
+            int size = groupSize(p, parts);
+            if (size > biggestSize) {
+                biggest = p;
+                biggestSize = size;
+            }
+        }
+        if (finished == 0) {
+            return 0;
+        }
+
+        int relabeled = 0;
+        for (int p = 0; p < parts; p++) {
+            if (partDone[p] || findGroup(p) != p || groupSize(p, parts) < 0
+                || (finished == groups && p == biggest)) {
+                continue;
+            }
+            int part = freeLabels[--freeCount];
+            int size = 0;
+            for (int q = 0; q < parts; q++) {
+                if (findGroup(q) == p) {
+                    for (int i = 0; i < partTail[q]; i++) {
+                        component[partQueues[q][i]] = part;
+                    }
+                    size += partTail[q];
+                    partDone[q] = true;
+                }
+            }
+            componentSize[part] = size;
+            componentSize[label] -= size;
+            relabeled++;
+        }
+        return relabeled;
+    }
+
+    /**
+     * Returns the number of cells of a group, or {@code -1} if any of its floods isn't over.
+     */
+    private int groupSize(int group, int parts) {
+        int size = 0;
+        for (int p = 0; p < parts; p++) {
+            if (findGroup(p) == group) {
+                if (partHead[p] != partTail[p]) {
+                    return -1;
+                }
+                size += partTail[p];
+            }
+        }
+        return size;
+    }
+
+
+    /**
+     * Returns the component of a coordinate.
+     * @param coordinate - The {x, y} coordinate to check
+     * @return The component of the coordinate, {@link #NONE} if it isn't BLANK
+     */
+    public int getComponent(int[] coordinate) {
+        return component[coordinate[1]*board[0].length + coordinate[0]];
+    }
+
+    /**
+     * Returns the number of BLANK tiles of a component.
+     * @param component - The component to check
+     * @return The number of tiles of the component
+     */
+    public int getComponentSize(int component) {
+        return componentSize[component];
+    }
+
+    /**
+     * Returns {@code true} if a path may exist between the coordinates.
+     *
+     * <p>The coordinates are connected if they, or their BLANK neighbors
+     * when they aren't BLANK themselves, share a component.
+     * @param start - The {x, y} start coordinate
+     * @param end - The {x, y} end coordinate
+     * @return {@code false} if no path can connect the coordinates
+     */
+    public boolean isConnected(int[] start, int[] end) {
+        int width = board[0].length;
+        int startCell = start[1]*width + start[0];
+        int endCell = end[1]*width + end[0];
+        if (Math.abs(start[0] - end[0]) + Math.abs(start[1] - end[1]) <= 1) {
+            return true;
+        }
+
+        int endComponent = component[endCell];
+        if (endComponent != NONE) {
+            return touches(startCell, endComponent);
+        }
+        for (int i = 0; i < DIRECTIONS_X.length; i++) {
+            int adjacentX = end[0] + DIRECTIONS_X[i];
+            int adjacentY = end[1] + DIRECTIONS_Y[i];
+            if (isWalkable(adjacentX, adjacentY) && touches(startCell, component[adjacentY*width + adjacentX])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if a cell, or one of its BLANK neighbors when it isn't BLANK, is on the component.
+     */
+    private boolean touches(int cell, int label) {
+        if (component[cell] != NONE) {
+            return component[cell] == label;
+        }
+        return findNeighbor(cell, label) >= 0;
+    }
+}
@@ -0,0 +1,182 @@
+package src.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SearchContext} class holds the scratch state of a grid search.
+ *
+ * <p>Cells are addressed by their flat {@code y*width+x} index. The cost,
+ * parent and closed state of every cell are kept on primitive arrays that
+ * are reused from one search to the next, so a search allocates nothing
+ * once the arrays have grown to the size of the board.
+ *
+ * <p>Instead of clearing the arrays, every search takes a new generation.
+ * A cell only counts as visited or closed if it was stamped with the current
+ * generation, which makes {@link #reset(int) reset} constant-time.
+ *
+ * <p>A context is not thread-safe, every thread searching at the same time
+ * needs its own.
+ *
+ * @since JDK 11.0
+ * @version 1.0
+ *
+ * @see src.pathfinder.A A
+ * @see src.pathfinder.OpenList OpenList
+ */
+public class SearchContext {
+
+    /**
+     * The cost from the start to every visited cell.
+     */
+    private int[] gScore = new int[0];
+
+    /**
+     * The cell every visited cell was reached from.
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * The generation each cell was last visited on.
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * The generation each cell was last closed on.
+     */
+    private int[] closed = new int[0];
+
+    /**
+     * The current generation.
+     */
+    private int generation;
+
+    /**
+     * The open set of the search.
+     */
+    private OpenList openList = new OpenList(0);
+
+    /**
+     * A scratch buffer for the callers of the context.
+     */
+    private int[] buffer = new int[0];
+
+    /**
+     * The number of cells closed on this search.
+     */
+    private int expanded;
+
+
+    /**
+     * Prepares the context for a new search over the specified number of cells.
+     *
+     * <p>The arrays only grow when the board is bigger than any board
+     * searched before with this context.
+     * @param size - The number of cells of the board
+     */
+    public void reset(int size) {
+        if (gScore.length < size) {
+            gScore = new int[size];
+            parent = new int[size];
+            visited = new int[size];
+            closed = new int[size];
+            openList = new OpenList(size);
+            generation = 0;
+        } else {
+            openList.clear();
+        }
+
+        expanded = 0;
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+
+    /**
+     * Returns {@code true} if the cell has been reached on this search.
+     * @param cell - The cell to check
+     * @return {@code true} if the cell has been reached
+     */
+    public boolean isVisited(int cell) {
+        return visited[cell] == generation;
+    }
+
+    /**
+     * Returns the cost to reach the cell on this search.
+     * @param cell - The cell to check
+     * @return The cost to reach the cell, {@code Integer.MAX_VALUE} if it hasn't been reached
+     */
+    public int getCost(int cell) {
+        return visited[cell] == generation ? gScore[cell] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the cell the specified cell was reached from.
+     * @param cell - The cell to check
+     * @return The parent of the cell, only meaningful if the cell has been reached
+     */
+    public int getParent(int cell) {
+        return parent[cell];
+    }
+
+    /**
+     * Records the cost and parent of a cell.
+     * @param cell - The cell reached
+     * @param cost - The cost to reach the cell
+     * @param from - The cell it was reached from
+     */
+    public void visit(int cell, int cost, int from) {
+        gScore[cell] = cost;
+        parent[cell] = from;
+        visited[cell] = generation;
+    }
+
+    /**
+     * Returns {@code true} if the cell has already been expanded on this search.
+     * @param cell - The cell to check
+     * @return {@code true} if the cell has been expanded
+     */
+    public boolean isClosed(int cell) {
+        return closed[cell] == generation;
+    }
+
+    /**
+     * Marks the cell as expanded.
+     * @param cell - The cell to close
+     */
+    public void close(int cell) {
+        closed[cell] = generation;
+        expanded++;
+    }
+
+    /**
+     * Returns the number of cells expanded on this search.
+     * @return The number of cells closed since the last reset
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Returns the open set of the search.
+     * @return The open set of the search
+     */
+    public OpenList getOpenList() {
+        return openList;
+    }
+
+    /**
+     * Returns a scratch buffer of at least the specified length.
+     * @param length - The minimum length of the buffer
+     * @return The scratch buffer
+     */
+    public int[] getBuffer(int length) {
+        if (buffer.length < length) {
+            buffer = new int[Math.max(length, buffer.length*2)];
+        }
+        return buffer;
+    }
+}